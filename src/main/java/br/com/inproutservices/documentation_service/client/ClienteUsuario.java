@@ -4,10 +4,18 @@ import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "usuario-service", url = "${usuario.service.url}")
 public interface ClienteUsuario {
 
     @GetMapping("/usuarios/{id}")
     UsuarioDTO buscarUsuario(@PathVariable Long id);
-}
\ No newline at end of file
+
+    @PostMapping("/usuarios/buscar-por-ids")
+    List<UsuarioDTO> buscarUsuariosPorIds(@RequestBody Collection<Long> ids);
+}
@@ -0,0 +1,25 @@
+package br.com.inproutservices.documentation_service.client;
+
+import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Respostas degradadas do usuario-service, usadas quando ele está fora do ar, lento
+ * ou com o circuito aberto. Em vez de devolver vazio (que se confundiria com "não
+ * encontrado"), falha rápido com {@link UsuarioServiceIndisponivelException}: o
+ * UsuarioFacade guarda o id no cache negativo e as telas saem com o responsável em branco.
+ */
+public class ClienteUsuarioFallback implements ClienteUsuario {
+
+    @Override
+    public UsuarioDTO buscarUsuario(Long id) {
+        throw new UsuarioServiceIndisponivelException("Serviço de usuários indisponível no momento.");
+    }
+
+    @Override
+    public List<UsuarioDTO> buscarUsuariosPorIds(Collection<Long> ids) {
+        throw new UsuarioServiceIndisponivelException("Serviço de usuários indisponível no momento.");
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.inproutservices.documentation_service.client;
+
+/**
+ * Resposta degradada do usuario-service (fora do ar, lento ou com o circuito aberto).
+ * Diferente de "usuário não encontrado": quem chama trata como nome ausente e o
+ * UsuarioFacade guarda o id no cache negativo para não insistir na dependência.
+ */
+public class UsuarioServiceIndisponivelException extends RuntimeException {
+
+    public UsuarioServiceIndisponivelException(String message) {
+        super(message);
+    }
+}
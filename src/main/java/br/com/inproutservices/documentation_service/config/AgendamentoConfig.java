@@ -0,0 +1,9 @@
+package br.com.inproutservices.documentation_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
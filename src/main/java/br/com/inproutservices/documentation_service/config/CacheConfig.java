@@ -1,9 +1,147 @@
 package br.com.inproutservices.documentation_service.config;
 
+import br.com.inproutservices.documentation_service.client.ClienteUsuario;
+import br.com.inproutservices.documentation_service.client.UsuarioServiceIndisponivelException;
+import br.com.inproutservices.documentation_service.dtos.OsInfoDTO;
+import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+
+import static br.com.inproutservices.documentation_service.services.UsuarioFacade.CACHE_USUARIOS;
+import static br.com.inproutservices.documentation_service.services.UsuarioFacade.CACHE_USUARIOS_FALHAS;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    @Value("${cache.usuarios.tamanho-maximo:5000}")
+    private long usuariosTamanhoMaximo;
+
+    @Value("${cache.usuarios.expirar-apos-escrita:30m}")
+    private Duration usuariosExpirarAposEscrita;
+
+    @Value("${cache.usuarios.atualizar-apos-escrita:5m}")
+    private Duration usuariosAtualizarAposEscrita;
+
+    @Value("${cache.usuarios.falhas-expirar-apos:30s}")
+    private Duration usuariosFalhasExpirarApos;
+
+    @Value("${cache.os-info.tamanho-maximo:2000}")
+    private long osInfoTamanhoMaximo;
+
+    @Value("${cache.os-info.expirar-apos-escrita:10m}")
+    private Duration osInfoExpirarAposEscrita;
+
+    @Value("${cache.lancamentos-pdi.tamanho-maximo:2000}")
+    private long lancamentosPdiTamanhoMaximo;
+
+    @Value("${cache.lancamentos-pdi.expirar-apos-escrita:60s}")
+    private Duration lancamentosPdiExpirarAposEscrita;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    @Bean
+    public CacheManager cacheManager(ClienteUsuario clienteUsuario) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        // Qualquer cache criado sem configuração própria também nasce limitado
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats());
+
+        // Usuários: limitado, expira e é recarregado em segundo plano antes de expirar,
+        // para que usuários "quentes" nunca esperem pelo usuario-service. Se a recarga
+        // falhar, o valor antigo continua servindo até expirar.
+        manager.registerCustomCache(CACHE_USUARIOS, Caffeine.newBuilder()
+                .executor(executorRecarga())
+                .maximumSize(usuariosTamanhoMaximo)
+                .expireAfterWrite(usuariosExpirarAposEscrita)
+                .refreshAfterWrite(usuariosAtualizarAposEscrita)
+                .recordStats()
+                .build(new CacheLoader<Object, Object>() {
+                    // O Spring consulta LoadingCache via get(); devolver null aqui mantém o
+                    // "miss" normal e deixa a primeira busca com o UsuarioFacade (cache negativo e lote)
+                    @Override
+                    public Object load(Object id) {
+                        return null;
+                    }
+
+                    @Override
+                    public Object reload(Object id, Object anterior) {
+                        try {
+                            UsuarioDTO atualizado = clienteUsuario.buscarUsuario((Long) id);
+                            return atualizado != null ? atualizado : anterior;
+                        } catch (UsuarioServiceIndisponivelException e) {
+                            // Usuario-service indisponível: mantém o valor antigo
+                            return anterior;
+                        }
+                    }
+                }));
+
+        // Cache negativo: ids cuja busca falhou há pouco não voltam a bater no usuario-service
+        manager.registerCustomCache(CACHE_USUARIOS_FALHAS, Caffeine.newBuilder()
+                .maximumSize(usuariosTamanhoMaximo)
+                .expireAfterWrite(usuariosFalhasExpirarApos)
+                .recordStats()
+                .build());
+
+        return manager;
+    }
+
+    /**
+     * A recarga chama o usuario-service e bloqueia esperando a resposta. No modo de threads
+     * virtuais ela roda em uma thread virtual por recarga, em vez de ocupar o commonPool,
+     * que é dimensionado pelo número de CPUs.
+     */
+    private Executor executorRecarga() {
+        if (!threadsVirtuais) return ForkJoinPool.commonPool();
+        ThreadFactory fabrica = Thread.ofVirtual().name("recarga-usuarios-", 0).factory();
+        return tarefa -> fabrica.newThread(tarefa).start();
+    }
+
+    /**
+     * Cache assíncrono de informações de OS do monolito. Guarda o futuro da chamada,
+     * o que permite que requisições simultâneas para a mesma OS aguardem a mesma resposta.
+     */
+    @Bean
+    public AsyncCache<Long, OsInfoDTO> osInfoCache(MeterRegistry meterRegistry) {
+        AsyncCache<Long, OsInfoDTO> cache = Caffeine.newBuilder()
+                .maximumSize(osInfoTamanhoMaximo)
+                .expireAfterWrite(osInfoExpirarAposEscrita)
+                .recordStats()
+                .buildAsync();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "osInfo");
+    }
+
+    /**
+     * Lançamentos aprovados por OS+Site (expansão PDI). TTL curto: o monolito também invalida
+     * a entrada quando aprova novos lançamentos (DELETE /integracao/cache/os/{osId}/lancamentos).
+     */
+    @Bean
+    public Cache<String, Set<Long>> lancamentosPdiCache(MeterRegistry meterRegistry) {
+        Cache<String, Set<Long>> cache = Caffeine.newBuilder()
+                .maximumSize(lancamentosPdiTamanhoMaximo)
+                .expireAfterWrite(lancamentosPdiExpirarAposEscrita)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "lancamentosPdi");
+    }
 }
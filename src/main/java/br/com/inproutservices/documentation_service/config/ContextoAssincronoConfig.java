@@ -0,0 +1,39 @@
+package br.com.inproutservices.documentation_service.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Tarefas enviadas ao applicationTaskExecutor herdam o contexto da requisição que as criou:
+ * o {@link FeignClientInterceptor} continua repassando o token do usuário (em vez de gerar o
+ * token de sistema) e o SecurityContext fica disponível. Quem dispara a tarefa precisa
+ * aguardá-la antes de a requisição terminar.
+ */
+@Configuration
+public class ContextoAssincronoConfig {
+
+    @Bean
+    public TaskDecorator contextoRequisicaoTaskDecorator() {
+        return tarefa -> {
+            RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+            SecurityContext seguranca = SecurityContextHolder.getContext();
+            return () -> {
+                RequestAttributes atributosAnteriores = RequestContextHolder.getRequestAttributes();
+                SecurityContext segurancaAnterior = SecurityContextHolder.getContext();
+                try {
+                    RequestContextHolder.setRequestAttributes(atributos);
+                    SecurityContextHolder.setContext(seguranca);
+                    tarefa.run();
+                } finally {
+                    RequestContextHolder.setRequestAttributes(atributosAnteriores);
+                    SecurityContextHolder.setContext(segurancaAnterior);
+                }
+            };
+        };
+    }
+}
@@ -1,12 +1,20 @@
 package br.com.inproutservices.documentation_service.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,15 +25,97 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Autentica a requisição pelo JWT do header Authorization.
+ * <p>
+ * A chave e o parser são montados uma vez. Tokens já verificados ficam em um cache limitado,
+ * indexado pelo hash SHA-256 do token (o token em si não é guardado), até o exp do token ou
+ * {@code jwt.cache.ttl-maximo}, o que vier primeiro. O frontend reaproveita o mesmo token por
+ * minutos, então a maioria das requisições só calcula o hash e consulta o cache.
+ * <p>
+ * Métricas: jwt.verificacao (tempo, por resultado: cache, verificado, invalido) e
+ * jwt.verificacao.alocacao (bytes alocados pela thread no filtro, quando a JVM suporta),
+ * além das estatísticas do cache "jwtTokens".
+ */
+@Slf4j
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     @Value("${jwt.secret:bWV1cHJvamV0b2lucHJvdXRzZWd1cmFuY2EyMDI1Y29tY2hhdmVzdXBlcmZvcnRl}")
     private String secret;
 
+    @Value("${jwt.cache.tamanho-maximo:10000}")
+    private long cacheTamanhoMaximo;
+
+    @Value("${jwt.cache.ttl-maximo:10m}")
+    private Duration cacheTtlMaximo;
+
+    private final MeterRegistry meterRegistry;
+
+    private JwtParser parser;
+    private Cache<String, TokenVerificado> tokensVerificados;
+    private com.sun.management.ThreadMXBean threadMXBean;
+
+    public JwtRequestFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record TokenVerificado(String subject, List<GrantedAuthority> authorities, Instant expiraEm) {}
+
+    @PostConstruct
+    void inicializar() {
+        // Decodifica a chave e prepara o parser do JJWT uma única vez (o parser é thread-safe).
+        // Com o segredo ausente ou inválido a aplicação sobe, mas nenhum token é aceito.
+        try {
+            SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+            parser = Jwts.parserBuilder().setSigningKey(key).build();
+        } catch (Exception e) {
+            log.error("Chave JWT inválida; nenhum token será aceito: {}", e.getMessage());
+        }
+
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(cacheTamanhoMaximo)
+                .expireAfter(new Expiry<String, TokenVerificado>() {
+                    @Override
+                    public long expireAfterCreate(String chave, TokenVerificado token, long agora) {
+                        Duration ttl = cacheTtlMaximo;
+                        if (token.expiraEm() != null) {
+                            Duration ateExpirar = Duration.between(Instant.now(), token.expiraEm());
+                            if (ateExpirar.compareTo(ttl) < 0) ttl = ateExpirar;
+                        }
+                        return Math.max(0, ttl.toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, TokenVerificado token, long agora, long restante) {
+                        return expireAfterCreate(chave, token, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, TokenVerificado token, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "jwtTokens");
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            threadMXBean = bean;
+        }
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -39,37 +129,77 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         String token = header.replace("Bearer ", "").trim();
 
-        try {
-            // Decodifica a chave e prepara para a validação do JJWT
-            byte[] secretBytes = Base64.getDecoder().decode(secret);
-            SecretKey key = Keys.hmacShaKeyFor(secretBytes);
-
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            String subject = claims.getSubject();
+        long inicio = System.nanoTime();
+        long alocadoAntes = threadMXBean != null ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+        String resultado;
 
-            if (subject != null && !subject.trim().isEmpty()) {
-
-                Collection<? extends GrantedAuthority> authorities = extrairAuthorities(claims);
+        try {
+            String chave = hash(token);
+            TokenVerificado verificado = tokensVerificados.getIfPresent(chave);
+
+            if (verificado != null && (verificado.expiraEm() == null || verificado.expiraEm().isAfter(Instant.now()))) {
+                resultado = "cache";
+            } else {
+                verificado = verificar(token);
+                if (verificado != null) {
+                    tokensVerificados.put(chave, verificado);
+                    resultado = "verificado";
+                } else {
+                    // Assinatura válida, mas sem subject: não autentica
+                    resultado = "invalido";
+                }
+            }
 
+            if (verificado != null) {
                 UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(subject, null, authorities);
+                        new UsernamePasswordAuthenticationToken(verificado.subject(), null, verificado.authorities());
 
                 SecurityContextHolder.getContext().setAuthentication(auth);
             }
 
         } catch (Exception e) {
-            System.out.println("Erro JWT: " + e.getMessage());
+            log.debug("Token JWT rejeitado: {}", e.getMessage());
             SecurityContextHolder.clearContext();
+            resultado = "invalido";
         }
 
+        registrarMetricas(resultado, inicio, alocadoAntes);
+
         chain.doFilter(request, response);
     }
 
+    /** Verifica a assinatura e monta as authorities; null quando o token não tem subject. */
+    private TokenVerificado verificar(String token) {
+        if (parser == null) throw new RuntimeException("Chave JWT não configurada");
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        String subject = claims.getSubject();
+        if (subject == null || subject.trim().isEmpty()) return null;
+
+        Date expiracao = claims.getExpiration();
+        return new TokenVerificado(subject, List.copyOf(extrairAuthorities(claims)),
+                expiracao != null ? expiracao.toInstant() : null);
+    }
+
+    private void registrarMetricas(String resultado, long inicio, long alocadoAntes) {
+        meterRegistry.timer("jwt.verificacao", "resultado", resultado)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        if (alocadoAntes >= 0) {
+            long alocadoDepois = threadMXBean.getCurrentThreadAllocatedBytes();
+            if (alocadoDepois >= alocadoAntes) {
+                meterRegistry.summary("jwt.verificacao.alocacao", "resultado", resultado)
+                        .record(alocadoDepois - alocadoAntes);
+            }
+        }
+    }
+
+    private String hash(String token) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
     private Collection<? extends GrantedAuthority> extrairAuthorities(Claims claims) {
 
         List<String> roles = extractListClaim(claims, "roles");
@@ -0,0 +1,104 @@
+package br.com.inproutservices.documentation_service.config;
+
+import br.com.inproutservices.documentation_service.client.ClienteUsuario;
+import br.com.inproutservices.documentation_service.client.ClienteUsuarioFallback;
+import feign.Capability;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Circuit breaker e bulkhead por cliente Feign. Cada cliente (usuario-service, inprout-monolito)
+ * tem sua própria configuração em resiliencia.clientes.&lt;nome&gt;, caindo nos valores de
+ * resiliencia.padrao quando não informada. Os timeouts de conexão/leitura ficam na
+ * configuração do próprio OpenFeign (spring.cloud.openfeign.client.config).
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class ResilienciaConfig {
+
+    public static final String CLIENTE_USUARIO = "usuario-service";
+    public static final String CLIENTE_MONOLITO = "inprout-monolito";
+
+    private final Environment env;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(circuitBreakerConfig(null));
+        for (String cliente : List.of(CLIENTE_USUARIO, CLIENTE_MONOLITO)) {
+            registry.circuitBreaker(cliente, circuitBreakerConfig(cliente))
+                    .getEventPublisher()
+                    .onStateTransition(e -> log.warn("Circuit breaker {}: {}", e.getCircuitBreakerName(), e.getStateTransition()));
+        }
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.of(bulkheadConfig(null));
+        for (String cliente : List.of(CLIENTE_USUARIO, CLIENTE_MONOLITO)) {
+            registry.bulkhead(cliente, bulkheadConfig(cliente));
+        }
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /** Registrado como bean, é aplicado pelo OpenFeign a todos os @FeignClient. */
+    @Bean
+    public Capability resilienciaFeignCapability(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                 BulkheadRegistry bulkheadRegistry) {
+        // O monolito não tem fallback: atualizações vão pelo outbox (que re-tenta) e a
+        // criação de solicitações precisa da OS real, então ali é melhor falhar rápido.
+        return new ResilienciaFeignCapability(circuitBreakerRegistry, bulkheadRegistry,
+                Map.of(ClienteUsuario.class, new ClienteUsuarioFallback()));
+    }
+
+    // =========================
+    // CONFIGURAÇÃO POR CLIENTE
+    // =========================
+
+    private CircuitBreakerConfig circuitBreakerConfig(String cliente) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(propriedade(cliente, "janela", Integer.class, 20))
+                .minimumNumberOfCalls(propriedade(cliente, "minimo-chamadas", Integer.class, 10))
+                .failureRateThreshold(propriedade(cliente, "limite-falhas", Float.class, 50f))
+                .slowCallDurationThreshold(propriedade(cliente, "chamada-lenta", Duration.class, Duration.ofSeconds(3)))
+                .slowCallRateThreshold(propriedade(cliente, "limite-chamadas-lentas", Float.class, 80f))
+                .waitDurationInOpenState(propriedade(cliente, "espera-aberto", Duration.class, Duration.ofSeconds(30)))
+                .permittedNumberOfCallsInHalfOpenState(propriedade(cliente, "chamadas-meio-aberto", Integer.class, 3))
+                .recordException(ResilienciaFeignCapability::falhaDaDependencia)
+                // Bulkhead cheio é proteção local, não sinal de que a dependência caiu
+                .ignoreExceptions(BulkheadFullException.class)
+                .build();
+    }
+
+    private BulkheadConfig bulkheadConfig(String cliente) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(propriedade(cliente, "chamadas-simultaneas", Integer.class, 20))
+                .maxWaitDuration(propriedade(cliente, "espera-bulkhead", Duration.class, Duration.ZERO))
+                .build();
+    }
+
+    private <T> T propriedade(String cliente, String chave, Class<T> tipo, T padrao) {
+        T valorPadrao = env.getProperty("resiliencia.padrao." + chave, tipo, padrao);
+        if (cliente == null) return valorPadrao;
+        return env.getProperty("resiliencia.clientes." + cliente + "." + chave, tipo, valorPadrao);
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.inproutservices.documentation_service.config;
+
+import feign.Capability;
+import feign.FeignException;
+import feign.InvocationHandlerFactory;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Envolve cada chamada dos clientes Feign com o bulkhead e o circuit breaker do cliente
+ * (pelo nome do @FeignClient). Tudo roda na thread de quem chamou, então o token da
+ * requisição continua sendo repassado pelo {@link FeignClientInterceptor}.
+ *
+ * Quando a dependência está indisponível (circuito aberto, bulkhead cheio, timeout, erro
+ * de conexão ou 5xx) e o cliente tem fallback registrado, o fallback responde no lugar (valor
+ * degradado ou exceção própria de indisponibilidade). Sem fallback, a chamada falha
+ * imediatamente com uma mensagem clara.
+ * Respostas 4xx não contam como falha da dependência e sobem como vieram.
+ */
+public class ResilienciaFeignCapability implements Capability {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Map<Class<?>, Object> fallbacks;
+
+    public ResilienciaFeignCapability(CircuitBreakerRegistry circuitBreakerRegistry,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      Map<Class<?>, Object> fallbacks) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.fallbacks = fallbacks;
+    }
+
+    /** Falhas que indicam dependência indisponível (as demais são erros do próprio pedido). */
+    public static boolean falhaDaDependencia(Throwable t) {
+        return !(t instanceof FeignException.FeignClientException);
+    }
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory delegate) {
+        return (target, dispatch) -> {
+            InvocationHandler handler = delegate.create(target, dispatch);
+            String nome = target.name();
+            CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(nome);
+            Bulkhead bulkhead = bulkheadRegistry.bulkhead(nome);
+            Object fallback = fallbacks.get(target.type());
+
+            return (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class || method.isDefault()) {
+                    return handler.invoke(proxy, method, args);
+                }
+                try {
+                    return CircuitBreaker.decorateCheckedSupplier(circuitBreaker,
+                            Bulkhead.decorateCheckedSupplier(bulkhead,
+                                    () -> handler.invoke(proxy, method, args))).get();
+                } catch (Throwable t) {
+                    boolean indisponivel = t instanceof CallNotPermittedException
+                            || t instanceof BulkheadFullException
+                            || falhaDaDependencia(t);
+                    if (fallback != null && indisponivel) {
+                        return chamarFallback(fallback, method, args);
+                    }
+                    throw traduzir(nome, t);
+                }
+            };
+        };
+    }
+
+    private Object chamarFallback(Object fallback, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(fallback, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Throwable traduzir(String nome, Throwable t) {
+        if (t instanceof CallNotPermittedException) {
+            return new RuntimeException("Serviço " + nome + " indisponível no momento (circuito aberto). Tente novamente em instantes.", t);
+        }
+        if (t instanceof BulkheadFullException) {
+            return new RuntimeException("Serviço " + nome + " sobrecarregado: limite de chamadas simultâneas atingido.", t);
+        }
+        return t;
+    }
+}
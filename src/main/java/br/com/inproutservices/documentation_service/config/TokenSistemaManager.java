@@ -0,0 +1,122 @@
+package br.com.inproutservices.documentation_service.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token de sistema usado nas chamadas Feign feitas fora de uma requisição (outbox, sincronização,
+ * jobs agendados). O mesmo token assinado é reaproveitado até perto do vencimento:
+ * <ul>
+ *     <li>dentro da janela {@code token-sistema.renovar-antes} o token atual continua sendo
+ *     entregue e um único renovador gera o próximo em segundo plano;</li>
+ *     <li>só quem encontra o token vencido (ou ausente) espera a geração, e apenas uma thread
+ *     assina enquanto as demais aguardam o resultado.</li>
+ * </ul>
+ * Não depende de RequestContextHolder nem de ThreadLocal, então funciona igual em threads
+ * virtuais, threads de executor e no scheduler. O lock é um ReentrantLock para não prender a
+ * thread portadora quando o chamador é uma thread virtual.
+ */
+@Slf4j
+@Component
+public class TokenSistemaManager {
+
+    private static final String SUBJECT_SISTEMA = "sistema_docs_interno";
+
+    @Value("${jwt.secret:bWV1cHJvamV0b2lucHJvdXRzZWd1cmFuY2EyMDI1Y29tY2hhdmVzdXBlcmZvcnRl}")
+    private String secret;
+
+    @Value("${token-sistema.validade:5m}")
+    private Duration validade;
+
+    @Value("${token-sistema.renovar-antes:1m}")
+    private Duration renovarAntes;
+
+    private record TokenSistema(String valor, Instant expiraEm) {}
+
+    private volatile TokenSistema atual;
+    private final ReentrantLock lockGeracao = new ReentrantLock();
+    private final AtomicBoolean renovacaoEmAndamento = new AtomicBoolean(false);
+
+    /** Token de sistema válido, sem o prefixo "Bearer ". */
+    public String obterToken() {
+        TokenSistema token = atual;
+        Instant agora = Instant.now();
+
+        if (token == null || !agora.isBefore(token.expiraEm())) {
+            return gerarSeNecessario(agora).valor();
+        }
+
+        if (!agora.isBefore(token.expiraEm().minus(renovarAntes))) {
+            renovarEmSegundoPlano();
+        }
+        return token.valor();
+    }
+
+    private TokenSistema gerarSeNecessario(Instant agora) {
+        lockGeracao.lock();
+        try {
+            // Outra thread pode ter gerado enquanto esta esperava o lock
+            TokenSistema token = atual;
+            if (token != null && agora.isBefore(token.expiraEm())) return token;
+
+            token = gerarTokenDeSistema();
+            atual = token;
+            return token;
+        } finally {
+            lockGeracao.unlock();
+        }
+    }
+
+    private void renovarEmSegundoPlano() {
+        if (!renovacaoEmAndamento.compareAndSet(false, true)) return;
+
+        CompletableFuture.runAsync(() -> {
+            lockGeracao.lock();
+            try {
+                TokenSistema token = atual;
+                // Já renovado por um gerador síncrono no meio do caminho
+                if (token != null && Instant.now().isBefore(token.expiraEm().minus(renovarAntes))) return;
+
+                atual = gerarTokenDeSistema();
+            } catch (Exception e) {
+                // O token atual segue válido; a próxima chamada na janela tenta de novo
+                log.warn("Falha ao renovar o token de sistema: {}", e.getMessage());
+            } finally {
+                lockGeracao.unlock();
+                renovacaoEmAndamento.set(false);
+            }
+        });
+    }
+
+    private TokenSistema gerarTokenDeSistema() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("role", "ROLE_ADMIN"); // Força o perfil admin para não ter bloqueio no Monolito
+
+        Instant agora = Instant.now();
+        Instant expiraEm = agora.plus(validade);
+        String valor = Jwts.builder()
+                .setClaims(claims)
+                .setSubject(SUBJECT_SISTEMA)
+                .setIssuedAt(Date.from(agora))
+                .setExpiration(Date.from(expiraEm))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        log.debug("Token de sistema renovado, válido até {}", expiraEm);
+        return new TokenSistema(valor, expiraEm);
+    }
+}
@@ -1,68 +1,31 @@
 package br.com.inproutservices.documentation_service.controllers;
 
 import br.com.inproutservices.documentation_service.dtos.responses.ApiErrorResponse;
-import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
-import br.com.inproutservices.documentation_service.repositories.SystemErrorLogRepository;
+import br.com.inproutservices.documentation_service.services.RegistroErrosService;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.io.PrintWriter;
-import java.io.StringWriter;
 import java.time.LocalDateTime;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private final SystemErrorLogRepository systemErrorLogRepository;
+    private final RegistroErrosService registroErrosService;
 
-    public GlobalExceptionHandler(SystemErrorLogRepository systemErrorLogRepository) {
-        this.systemErrorLogRepository = systemErrorLogRepository;
+    public GlobalExceptionHandler(RegistroErrosService registroErrosService) {
+        this.registroErrosService = registroErrosService;
     }
 
+    /** Enfileira o erro para gravação em lote; não bloqueia a requisição. */
     private void registrarErro(HttpServletRequest request, int statusCode, String erroTipo,
-                                String mensagem, String detalhes) {
-        try {
-            SystemErrorLog log = new SystemErrorLog();
-            log.setStatusCode(statusCode);
-            log.setMetodoHttp(request != null ? request.getMethod() : null);
-            log.setUri(request != null ? request.getRequestURI() : null);
-            log.setErroTipo(erroTipo);
-            log.setMensagem(mensagem != null && mensagem.length() > 2000
-                    ? mensagem.substring(0, 2000) : mensagem);
-            log.setDetalhes(detalhes != null && detalhes.length() > 5000
-                    ? detalhes.substring(0, 5000) : detalhes);
-
-            if (request != null) {
-                String xForwardedFor = request.getHeader("X-Forwarded-For");
-                log.setIpAddress(xForwardedFor != null && !xForwardedFor.isBlank()
-                        ? xForwardedFor.split(",")[0].trim()
-                        : request.getRemoteAddr());
-            }
-
-            try {
-                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-                if (auth != null && auth.getPrincipal() instanceof String email) {
-                    log.setUsuarioEmail(email);
-                }
-            } catch (Exception ignored) {}
-
-            systemErrorLogRepository.save(log);
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    private String getStackTraceResumo(Exception ex) {
-        StringWriter sw = new StringWriter();
-        ex.printStackTrace(new PrintWriter(sw));
-        String full = sw.toString();
-        return full.length() > 5000 ? full.substring(0, 5000) : full;
+                                String mensagem, Exception erro) {
+        registroErrosService.registrar(request, statusCode, erroTipo, mensagem, erro);
     }
 
     @ExceptionHandler(AccessDeniedException.class)
@@ -80,7 +43,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ApiErrorResponse> handleRuntime(RuntimeException ex, HttpServletRequest req) {
-        registrarErro(req, 400, "RUNTIME", ex.getMessage(), getStackTraceResumo(ex));
+        registrarErro(req, 400, "RUNTIME", ex.getMessage(), ex);
         ApiErrorResponse body = new ApiErrorResponse(
                 LocalDateTime.now(),
                 HttpStatus.BAD_REQUEST.value(),
@@ -93,10 +56,10 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, HttpServletRequest req) {
-        ex.printStackTrace();
+        log.error("Erro inesperado em {} {}", req.getMethod(), req.getRequestURI(), ex);
         registrarErro(req, 500, "INTERNAL_ERROR",
                 ex.getClass().getSimpleName() + ": " + ex.getMessage(),
-                getStackTraceResumo(ex));
+                ex);
         ApiErrorResponse body = new ApiErrorResponse(
                 LocalDateTime.now(),
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
@@ -0,0 +1,53 @@
+package br.com.inproutservices.documentation_service.controllers;
+
+import br.com.inproutservices.documentation_service.enums.EstadoOutbox;
+import br.com.inproutservices.documentation_service.services.LancamentosPdiFacade;
+import br.com.inproutservices.documentation_service.services.OsInfoFacade;
+import br.com.inproutservices.documentation_service.services.OutboxLancamentoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/integracao")
+@RequiredArgsConstructor
+public class IntegracaoController {
+
+    private final OsInfoFacade osInfoFacade;
+    private final LancamentosPdiFacade lancamentosPdiFacade;
+    private final OutboxLancamentoService outboxService;
+
+    // Chamado pelo monolito quando código, projeto ou segmento de uma OS mudam
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/cache/os/{osId}")
+    public ResponseEntity<Void> invalidarInfoOs(@PathVariable Long osId) {
+        osInfoFacade.invalidar(osId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Chamado pelo monolito quando aprova novos lançamentos na OS (sem site: todos os sites da OS)
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/cache/os/{osId}/lancamentos")
+    public ResponseEntity<Void> invalidarLancamentosPdi(@PathVariable Long osId,
+                                                        @RequestParam(required = false) String site) {
+        lancamentosPdiFacade.invalidar(osId, site);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/outbox/lancamentos")
+    public ResponseEntity<Map<EstadoOutbox, Long>> resumoOutbox() {
+        return ResponseEntity.ok(outboxService.resumo());
+    }
+
+    // Devolve para a fila um registro que esgotou as tentativas
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/outbox/lancamentos/{id}/reprocessar")
+    public ResponseEntity<Void> reprocessarOutbox(@PathVariable Long id) {
+        outboxService.reprocessar(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,25 +1,40 @@
 package br.com.inproutservices.documentation_service.controllers;
 
+import br.com.inproutservices.documentation_service.client.UsuarioServiceIndisponivelException;
 import br.com.inproutservices.documentation_service.dtos.*;
+import br.com.inproutservices.documentation_service.dtos.projections.CustoOsProjection;
+import br.com.inproutservices.documentation_service.dtos.responses.ResultadoLoteResponse;
+import br.com.inproutservices.documentation_service.dtos.responses.SincronizacaoOsResponse;
+import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoCursorResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoDetalheResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoEventoResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoListResponse;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
 import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.services.SincronizacaoOsService;
 import br.com.inproutservices.documentation_service.services.SolicitacaoDocumentoService;
 import br.com.inproutservices.documentation_service.services.UsuarioFacade;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static br.com.inproutservices.documentation_service.mappers.SolicitacaoMapper.toDetalhe;
 import static br.com.inproutservices.documentation_service.mappers.SolicitacaoMapper.valorDoDocumentistaNoDocumento;
@@ -30,7 +45,9 @@ import static br.com.inproutservices.documentation_service.mappers.SolicitacaoMa
 public class SolicitacaoDocumentoController {
 
     private final SolicitacaoDocumentoService solicitacaoService;
+    private final SincronizacaoOsService sincronizacaoOsService;
     private final UsuarioFacade usuarioFacade;
+    private final ObjectMapper objectMapper;
 
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
     @PostMapping
@@ -51,6 +68,13 @@ public class SolicitacaoDocumentoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(toDetalhe(s, null, null));
     }
 
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLoteResponse> criarEmLote(@RequestBody CriarSolicitacoesLoteRequest request) {
+        if (request == null) throw new RuntimeException("Payload inválido.");
+        return ResponseEntity.ok(solicitacaoService.criarSolicitacoesEmLote(request.itens()));
+    }
+
     @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
     @PostMapping("/{id}/receber")
     public ResponseEntity<SolicitacaoDetalheResponse> marcarRecebido(@PathVariable Long id,
@@ -75,6 +99,24 @@ public class SolicitacaoDocumentoController {
         return ResponseEntity.ok(toDetalhe(s, null, null));
     }
 
+    @PreAuthorize("hasAnyRole('MANAGER','ADMIN')")
+    @PostMapping("/lote/receber")
+    public ResponseEntity<ResultadoLoteResponse> marcarRecebidosEmLote(@RequestBody AcaoSolicitacoesLoteRequest request) {
+        return ResponseEntity.ok(solicitacaoService.marcarRecebidosEmLote(request));
+    }
+
+    @PreAuthorize("hasAnyRole('DOCUMENTIST','ADMIN')")
+    @PostMapping("/lote/finalizar")
+    public ResponseEntity<ResultadoLoteResponse> finalizarEmLote(@RequestBody FinalizarSolicitacoesLoteRequest request) {
+        return ResponseEntity.ok(solicitacaoService.finalizarEmLote(request));
+    }
+
+    @PreAuthorize("hasAnyRole('DOCUMENTIST','ADMIN')")
+    @PostMapping("/lote/recusar")
+    public ResponseEntity<ResultadoLoteResponse> recusarEmLote(@RequestBody AcaoSolicitacoesLoteRequest request) {
+        return ResponseEntity.ok(solicitacaoService.recusarEmLote(request));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','COORDINATOR','MANAGER')")
     @PostMapping("/{id}/resolicitar")
     public ResponseEntity<SolicitacaoDetalheResponse> resolicitar(@PathVariable Long id,
@@ -112,45 +154,34 @@ public class SolicitacaoDocumentoController {
     public ResponseEntity<Page<SolicitacaoListResponse>> listar(@RequestParam(name = "osId", required = false) Long osId,
                                                                 @RequestParam(name = "status", required = false) StatusSolicitacaoDocumento status,
                                                                 @RequestParam(name = "documentistaId", required = false) Long documentistaId,
+                                                                @RequestParam(name = "documentoId", required = false) Long documentoId,
+                                                                @RequestParam(name = "criadoDe", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoDe,
+                                                                @RequestParam(name = "criadoAte", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoAte,
                                                                 @RequestParam(name = "usuarioId", required = false) Long usuarioId,
                                                                 Pageable pageable) {
 
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        List<String> segmentosFiltro = null;
+        FiltroSolicitacao filtro = new FiltroSolicitacao(osId, status, documentistaId, documentoId,
+                resolverSegmentosFiltro(usuarioId), criadoDe, criadoAte);
 
-        // Se o usuário for MANAGER ou COORDINATOR, ativamos a busca dos seus segmentos
-        // Aceita com ou sem prefixo ROLE_ (depende da config do Spring Security)
-        boolean filtraPorSegmento = auth != null && auth.getAuthorities().stream()
-                .anyMatch(a -> {
-                    String authority = a.getAuthority();
-                    return "MANAGER".equals(authority) || "ROLE_MANAGER".equals(authority)
-                            || "COORDINATOR".equals(authority) || "ROLE_COORDINATOR".equals(authority);
-                });
+        return ResponseEntity.ok(solicitacaoService.page(filtro, pageable));
+    }
 
-        if (filtraPorSegmento && usuarioId != null) {
-            UsuarioDTO user = usuarioFacade.buscarUsuario(usuarioId);
-            if (user != null && user.segmentos() != null) {
-                segmentosFiltro = user.segmentos().stream().map(SegmentoDTO::nome).toList();
-            }
-        }
+    @PreAuthorize("hasAnyRole('ADMIN','CONTROLLER','COORDINATOR','DOCUMENTIST','MANAGER', 'ASSISTANT', 'VISUALIZADOR')")
+    @GetMapping("/cursor")
+    public ResponseEntity<SolicitacaoCursorResponse> listarPorCursor(@RequestParam(name = "osId", required = false) Long osId,
+                                                                     @RequestParam(name = "status", required = false) StatusSolicitacaoDocumento status,
+                                                                     @RequestParam(name = "documentistaId", required = false) Long documentistaId,
+                                                                     @RequestParam(name = "documentoId", required = false) Long documentoId,
+                                                                     @RequestParam(name = "criadoDe", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoDe,
+                                                                     @RequestParam(name = "criadoAte", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime criadoAte,
+                                                                     @RequestParam(name = "usuarioId", required = false) Long usuarioId,
+                                                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                                                     @RequestParam(name = "size", defaultValue = "20") int size) {
 
-        Page<SolicitacaoListResponse> page;
-
-        if (documentistaId != null && status != null) {
-            page = solicitacaoService.pagePorDocumentistaEStatus(documentistaId, status, segmentosFiltro, pageable);
-        } else if (documentistaId != null) {
-            page = solicitacaoService.pagePorDocumentista(documentistaId, segmentosFiltro, pageable);
-        } else if (osId != null && status != null) {
-            page = solicitacaoService.pagePorOsEStatus(osId, status, segmentosFiltro, pageable);
-        } else if (osId != null) {
-            page = solicitacaoService.pagePorOs(osId, segmentosFiltro, pageable);
-        } else if (status != null) {
-            page = solicitacaoService.pagePorStatus(status, segmentosFiltro, pageable);
-        } else {
-            page = solicitacaoService.pageTodas(segmentosFiltro, pageable);
-        }
+        FiltroSolicitacao filtro = new FiltroSolicitacao(osId, status, documentistaId, documentoId,
+                resolverSegmentosFiltro(usuarioId), criadoDe, criadoAte);
 
-        return ResponseEntity.ok(page);
+        return ResponseEntity.ok(solicitacaoService.pagePorCursor(filtro, cursor, size));
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','CONTROLLER','COORDINATOR','DOCUMENTIST','MANAGER', 'ASSISTANT', 'VISUALIZADOR')")
@@ -164,7 +195,11 @@ public class SolicitacaoDocumentoController {
         UsuarioDTO documentista = null;
 
         if (includeDocumentista) {
-            documentista = usuarioFacade.buscarUsuario(s.getDocumentistaId());
+            try {
+                documentista = usuarioFacade.buscarUsuario(s.getDocumentistaId());
+            } catch (UsuarioServiceIndisponivelException e) {
+                // Sem o usuario-service o detalhe sai com o documentista em branco
+            }
         }
 
         BigDecimal valor = null;
@@ -185,6 +220,12 @@ public class SolicitacaoDocumentoController {
         return ResponseEntity.ok(resp);
     }
 
+    @PreAuthorize("hasAnyRole('ADMIN','CONTROLLER','COORDINATOR','DOCUMENTIST','MANAGER', 'ASSISTANT', 'VISUALIZADOR')")
+    @GetMapping("/historicos")
+    public ResponseEntity<Map<Long, List<SolicitacaoEventoResponse>>> historicos(@RequestParam("ids") List<Long> ids) {
+        return ResponseEntity.ok(solicitacaoService.historicosEnriquecidos(ids));
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','CONTROLLER','COORDINATOR','DOCUMENTIST','MANAGER', 'VISUALIZADOR')")
     @GetMapping("/documentistas/{documentistaId}/totais")
     public ResponseEntity<TotaisPorStatusDTO> totais(@PathVariable Long documentistaId) {
@@ -192,10 +233,20 @@ public class SolicitacaoDocumentoController {
         return ResponseEntity.ok(totais);
     }
 
+    // Roda em segundo plano; o progresso é consultado nos GETs abaixo
     @PostMapping("/sync-legado-os-projeto")
-    public ResponseEntity<String> syncRetroativo() {
-        solicitacaoService.sincronizarOsEProjetoRetroativo();
-        return ResponseEntity.ok("Sincronização iniciada/concluída com sucesso.");
+    public ResponseEntity<SincronizacaoOsResponse> syncRetroativo() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(sincronizacaoOsService.iniciar());
+    }
+
+    @GetMapping("/sync-legado-os-projeto")
+    public ResponseEntity<SincronizacaoOsResponse> statusSyncRetroativo() {
+        return ResponseEntity.ok(sincronizacaoOsService.status(null));
+    }
+
+    @GetMapping("/sync-legado-os-projeto/{jobId}")
+    public ResponseEntity<SincronizacaoOsResponse> statusSyncRetroativo(@PathVariable Long jobId) {
+        return ResponseEntity.ok(sincronizacaoOsService.status(jobId));
     }
 
     @GetMapping("/custos-por-os")
@@ -203,4 +254,55 @@ public class SolicitacaoDocumentoController {
             @RequestParam("osIds") java.util.List<Long> osIds) {
         return ResponseEntity.ok(solicitacaoService.custosPorOs(osIds));
     }
+
+    // Variante para projetos inteiros: aceita milhares de OSs no corpo e escreve o JSON à medida que
+    // cada bloco é agregado no banco. Mesmo formato de resposta e mesmo acesso do GET.
+    @PostMapping("/custos-por-os")
+    public ResponseEntity<StreamingResponseBody> custosPorOsEmLote(@RequestBody CustosPorOsRequest request) {
+        if (request == null || request.osIds() == null) throw new RuntimeException("osIds é obrigatório.");
+
+        StreamingResponseBody corpo = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                solicitacaoService.processarCustosPorOs(request.osIds(), lote -> {
+                    try {
+                        for (CustoOsProjection c : lote) {
+                            json.writeObjectFieldStart(String.valueOf(c.osId()));
+                            json.writeNumberField("pago", c.pago() != null ? c.pago() : BigDecimal.ZERO);
+                            json.writeNumberField("previsto", c.previsto() != null ? c.previsto() : BigDecimal.ZERO);
+                            json.writeEndObject();
+                        }
+                        json.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndObject();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(corpo);
+    }
+
+    private List<String> resolverSegmentosFiltro(Long usuarioId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        // Se o usuário for MANAGER ou COORDINATOR, ativamos a busca dos seus segmentos
+        // Aceita com ou sem prefixo ROLE_ (depende da config do Spring Security)
+        boolean filtraPorSegmento = auth != null && auth.getAuthorities().stream()
+                .anyMatch(a -> {
+                    String authority = a.getAuthority();
+                    return "MANAGER".equals(authority) || "ROLE_MANAGER".equals(authority)
+                            || "COORDINATOR".equals(authority) || "ROLE_COORDINATOR".equals(authority);
+                });
+
+        if (filtraPorSegmento && usuarioId != null) {
+            UsuarioDTO user = usuarioFacade.buscarUsuario(usuarioId);
+            if (user != null && user.segmentos() != null) {
+                return user.segmentos().stream().map(SegmentoDTO::nome).toList();
+            }
+        }
+
+        return null;
+    }
 }
\ No newline at end of file
@@ -1,17 +1,22 @@
 package br.com.inproutservices.documentation_service.controllers;
 
-import br.com.inproutservices.documentation_service.repositories.SystemErrorLogRepository;
+import br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection;
+import br.com.inproutservices.documentation_service.dtos.responses.ErroLogCursorResponse;
+import br.com.inproutservices.documentation_service.services.AuditoriaErrosService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin/audit")
 @RequiredArgsConstructor
 public class SystemErrorLogController {
 
-    private final SystemErrorLogRepository systemErrorLogRepo;
+    private final AuditoriaErrosService auditoriaErrosService;
 
     @GetMapping("/erros")
     public ResponseEntity<?> auditErros(
@@ -20,15 +25,28 @@ public class SystemErrorLogController {
             @RequestParam(required = false) Integer statusCode,
             @RequestParam(required = false) String busca) {
 
-        var pageable = PageRequest.of(page, size);
-        boolean temFiltro = (statusCode != null) || (busca != null && !busca.isBlank());
+        return ResponseEntity.ok(auditoriaErrosService.listar(statusCode, busca, page, size));
+    }
+
+    @GetMapping("/erros/cursor")
+    public ResponseEntity<ErroLogCursorResponse> auditErrosPorCursor(
+            @RequestParam(required = false) Integer statusCode,
+            @RequestParam(required = false) String busca,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(auditoriaErrosService.listarPorCursor(statusCode, busca, cursor, size));
+    }
+
+    @GetMapping("/erros/tendencias")
+    public ResponseEntity<List<TendenciaErroProjection>> tendenciasErros(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            @RequestParam(defaultValue = "hora") String granularidade,
+            @RequestParam(required = false) Integer statusCode,
+            @RequestParam(required = false) String erroTipo,
+            @RequestParam(required = false) String uri) {
 
-        if (temFiltro) {
-            return ResponseEntity.ok(systemErrorLogRepo.buscarComFiltros(
-                    statusCode,
-                    busca != null && !busca.isBlank() ? busca : null,
-                    pageable));
-        }
-        return ResponseEntity.ok(systemErrorLogRepo.findAllByOrderByDataHoraDesc(pageable));
+        return ResponseEntity.ok(auditoriaErrosService.tendencias(de, ate, granularidade, statusCode, erroTipo, uri));
     }
 }
@@ -0,0 +1,9 @@
+package br.com.inproutservices.documentation_service.dtos;
+
+import java.util.List;
+
+public record AcaoSolicitacoesLoteRequest(
+        List<Long> ids,
+        Long actorUsuarioId,
+        String comentario
+) {}
@@ -0,0 +1,7 @@
+package br.com.inproutservices.documentation_service.dtos;
+
+import java.util.List;
+
+public record CriarSolicitacoesLoteRequest(
+        List<CriarSolicitacaoRequest> itens
+) {}
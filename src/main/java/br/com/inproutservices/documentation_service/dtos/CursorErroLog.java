@@ -0,0 +1,31 @@
+package br.com.inproutservices.documentation_service.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por cursor da auditoria de erros: a última linha entregue, na ordem
+ * (dataHora DESC, id DESC). Trafega para o frontend como um token opaco.
+ */
+public record CursorErroLog(LocalDateTime dataHora, Long id) {
+
+    public String codificar() {
+        String bruto = dataHora + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorErroLog decodificar(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separador = bruto.lastIndexOf('|');
+            return new CursorErroLog(
+                    LocalDateTime.parse(bruto.substring(0, separador)),
+                    Long.valueOf(bruto.substring(separador + 1))
+            );
+        } catch (Exception e) {
+            throw new RuntimeException("Cursor de paginação inválido.");
+        }
+    }
+}
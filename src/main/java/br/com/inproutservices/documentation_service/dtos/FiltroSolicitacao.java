@@ -0,0 +1,19 @@
+package br.com.inproutservices.documentation_service.dtos;
+
+import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filtros da listagem de solicitações. Todos são opcionais e se combinam com AND.
+ */
+public record FiltroSolicitacao(
+        Long osId,
+        StatusSolicitacaoDocumento status,
+        Long documentistaId,
+        Long documentoId,
+        List<String> segmentos,
+        LocalDateTime criadoDe,
+        LocalDateTime criadoAte
+) {}
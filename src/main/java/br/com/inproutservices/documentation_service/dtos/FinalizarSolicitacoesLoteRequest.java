@@ -0,0 +1,10 @@
+package br.com.inproutservices.documentation_service.dtos;
+
+import java.util.List;
+
+public record FinalizarSolicitacoesLoteRequest(
+        List<Long> ids,
+        Long actorUsuarioId,
+        String comentario,
+        String provaEnvio
+) {}
@@ -0,0 +1,8 @@
+package br.com.inproutservices.documentation_service.dtos.projections;
+
+public record ChaveSolicitacaoProjection(
+        Long osId,
+        String site,
+        Long documentoId,
+        Long documentistaId
+) {}
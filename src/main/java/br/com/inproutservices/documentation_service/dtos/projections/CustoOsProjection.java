@@ -0,0 +1,9 @@
+package br.com.inproutservices.documentation_service.dtos.projections;
+
+import java.math.BigDecimal;
+
+public record CustoOsProjection(
+        Long osId,
+        BigDecimal previsto,
+        BigDecimal pago
+) {}
@@ -0,0 +1,6 @@
+package br.com.inproutservices.documentation_service.dtos.projections;
+
+public record SolicitacaoOsProjection(
+        Long id,
+        Long osId
+) {}
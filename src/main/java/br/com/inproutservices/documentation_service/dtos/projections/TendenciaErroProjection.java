@@ -0,0 +1,11 @@
+package br.com.inproutservices.documentation_service.dtos.projections;
+
+import java.time.LocalDateTime;
+
+public record TendenciaErroProjection(
+        LocalDateTime periodo,
+        Integer statusCode,
+        String erroTipo,
+        String uri,
+        Long ocorrencias
+) {}
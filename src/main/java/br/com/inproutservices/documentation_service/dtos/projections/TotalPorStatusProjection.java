@@ -0,0 +1,10 @@
+package br.com.inproutservices.documentation_service.dtos.projections;
+
+import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+
+import java.math.BigDecimal;
+
+public record TotalPorStatusProjection(
+        StatusSolicitacaoDocumento status,
+        BigDecimal total
+) {}
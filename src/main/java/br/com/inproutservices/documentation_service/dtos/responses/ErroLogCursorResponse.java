@@ -0,0 +1,11 @@
+package br.com.inproutservices.documentation_service.dtos.responses;
+
+import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
+
+import java.util.List;
+
+public record ErroLogCursorResponse(
+        List<SystemErrorLog> itens,
+        String proximoCursor,
+        boolean temMais
+) {}
@@ -0,0 +1,8 @@
+package br.com.inproutservices.documentation_service.dtos.responses;
+
+public record ResultadoItemLoteResponse(
+        int indice,
+        boolean sucesso,
+        Long solicitacaoId,
+        String erro
+) {}
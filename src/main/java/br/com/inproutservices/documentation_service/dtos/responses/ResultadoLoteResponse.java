@@ -0,0 +1,10 @@
+package br.com.inproutservices.documentation_service.dtos.responses;
+
+import java.util.List;
+
+public record ResultadoLoteResponse(
+        int total,
+        int sucessos,
+        int falhas,
+        List<ResultadoItemLoteResponse> itens
+) {}
@@ -0,0 +1,20 @@
+package br.com.inproutservices.documentation_service.dtos.responses;
+
+import br.com.inproutservices.documentation_service.enums.EstadoSincronizacao;
+
+import java.time.LocalDateTime;
+
+public record SincronizacaoOsResponse(
+        Long id,
+        EstadoSincronizacao estado,
+        long totalEstimado,
+        long processadas,
+        long atualizadas,
+        long falhas,
+        long osConsultadas,
+        long ultimoIdProcessado,
+        String ultimoErro,
+        LocalDateTime iniciadoEm,
+        LocalDateTime atualizadoEm,
+        LocalDateTime concluidoEm
+) {}
@@ -0,0 +1,9 @@
+package br.com.inproutservices.documentation_service.dtos.responses;
+
+import java.util.List;
+
+public record SolicitacaoCursorResponse(
+        List<SolicitacaoListResponse> itens,
+        String proximoCursor,
+        boolean temMais
+) {}
@@ -0,0 +1,27 @@
+package br.com.inproutservices.documentation_service.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Cópia do resumo do documento dentro de {@link SolicitacaoListagem}. Mantém o caminho
+ * "documento.id"/"documento.nome" igual ao da entidade original (filtros e ordenação).
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DocumentoListagem {
+
+    @Column(name = "documento_id", nullable = false)
+    private Long id;
+
+    @Column(name = "documento_nome")
+    private String nome;
+
+    @Column(name = "documento_ativo", nullable = false)
+    private boolean ativo;
+}
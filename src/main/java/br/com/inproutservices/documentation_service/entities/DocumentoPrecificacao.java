@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 public class DocumentoPrecificacao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "documento_precificacao_seq")
+    @SequenceGenerator(name = "documento_precificacao_seq", sequenceName = "documento_precificacao_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "usuario_id", nullable = false)
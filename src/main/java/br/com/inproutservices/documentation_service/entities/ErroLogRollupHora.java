@@ -0,0 +1,40 @@
+package br.com.inproutservices.documentation_service.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ocorrências do log de erros consolidadas por hora, status, tipo e template da URI.
+ * Preenchida por {@code ErroLogRollupHoraRepository.consolidar} e mantida depois que as
+ * partições de system_error_log saem da retenção.
+ */
+@Entity
+@Table(name = "system_error_log_rollup_hora")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ErroLogRollupHora {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDateTime hora;
+
+    @Column(name = "status_code", nullable = false)
+    private Integer statusCode;
+
+    @Column(name = "erro_tipo", nullable = false)
+    private String erroTipo;
+
+    @Column(nullable = false)
+    private String uri;
+
+    @Column(nullable = false)
+    private Long ocorrencias;
+}
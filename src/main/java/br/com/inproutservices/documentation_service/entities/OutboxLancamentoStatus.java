@@ -0,0 +1,80 @@
+package br.com.inproutservices.documentation_service.entities;
+
+import br.com.inproutservices.documentation_service.enums.EstadoOutbox;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Atualização de status de lançamentos pendente de envio ao monolito. Gravada na mesma
+ * transação da solicitação e entregue depois pelo OutboxLancamentoDispatcher.
+ */
+@Entity
+@Table(name = "outbox_lancamento_status")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class OutboxLancamentoStatus {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_lancamento_status_seq")
+    @SequenceGenerator(name = "outbox_lancamento_status_seq", sequenceName = "outbox_lancamento_status_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "solicitacao_id", nullable = false)
+    private Long solicitacaoId;
+
+    @Column(name = "os_id", nullable = false)
+    private Long osId;
+
+    @Column(name = "site", nullable = false)
+    private String site = "";
+
+    // Documento PDI: os lançamentos são expandidos para todos os da OS+Site no momento do envio
+    @Column(name = "expandir_pdi", nullable = false)
+    private boolean expandirPdi;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "lancamento_ids", columnDefinition = "bigint[]", nullable = false)
+    private Long[] lancamentoIds;
+
+    @Column(name = "documentacao", length = 40)
+    private String documentacao;
+
+    @Column(name = "plano_documentacao")
+    private LocalDate planoDocumentacao;
+
+    @Column(name = "situacao")
+    private String situacao;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoOutbox estado = EstadoOutbox.PENDENTE;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "proxima_tentativa_em", nullable = false)
+    private LocalDateTime proximaTentativaEm;
+
+    @Column(name = "ultimo_erro", columnDefinition = "TEXT")
+    private String ultimoErro;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "enviado_em")
+    private LocalDateTime enviadoEm;
+
+    @PrePersist
+    public void prePersist() {
+        if (criadoEm == null) criadoEm = LocalDateTime.now();
+        if (proximaTentativaEm == null) proximaTentativaEm = criadoEm;
+    }
+}
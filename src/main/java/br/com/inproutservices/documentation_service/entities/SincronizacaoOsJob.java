@@ -0,0 +1,68 @@
+package br.com.inproutservices.documentation_service.entities;
+
+import br.com.inproutservices.documentation_service.enums.EstadoSincronizacao;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Execução da sincronização retroativa de OS/projeto/segmento. Guarda o checkpoint
+ * (último id de solicitação processado) e o progresso, para retomar após um restart.
+ */
+@Entity
+@Table(name = "sincronizacao_os_job")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SincronizacaoOsJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoSincronizacao estado = EstadoSincronizacao.EM_ANDAMENTO;
+
+    @Column(name = "ultimo_id_processado", nullable = false)
+    private long ultimoIdProcessado;
+
+    @Column(name = "total_estimado", nullable = false)
+    private long totalEstimado;
+
+    @Column(nullable = false)
+    private long processadas;
+
+    @Column(nullable = false)
+    private long atualizadas;
+
+    @Column(nullable = false)
+    private long falhas;
+
+    @Column(name = "os_consultadas", nullable = false)
+    private long osConsultadas;
+
+    @Column(name = "reservado_ate")
+    private LocalDateTime reservadoAte;
+
+    @Column(name = "ultimo_erro", columnDefinition = "TEXT")
+    private String ultimoErro;
+
+    @Column(name = "iniciado_em", nullable = false)
+    private LocalDateTime iniciadoEm;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "concluido_em")
+    private LocalDateTime concluidoEm;
+
+    @PrePersist
+    public void prePersist() {
+        if (iniciadoEm == null) iniciadoEm = LocalDateTime.now();
+        if (atualizadoEm == null) atualizadoEm = iniciadoEm;
+    }
+}
@@ -23,7 +23,8 @@ import java.util.Set;
 public class SolicitacaoDocumento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitacoes_documento_seq")
+    @SequenceGenerator(name = "solicitacoes_documento_seq", sequenceName = "solicitacoes_documento_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "os_id", nullable = false)
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class SolicitacaoDocumentoEvento {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "solicitacao_documento_eventos_seq")
+    @SequenceGenerator(name = "solicitacao_documento_eventos_seq", sequenceName = "solicitacao_documento_eventos_seq", allocationSize = 50)
     private Long id;
 
     @Column(name="solicitacao_id", nullable = false)
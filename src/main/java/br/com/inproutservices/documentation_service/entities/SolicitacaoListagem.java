@@ -0,0 +1,127 @@
+package br.com.inproutservices.documentation_service.entities;
+
+import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de leitura da tela de solicitações: uma linha plana por solicitação, com o nome do documento,
+ * o valor do documentista e os lançamentos já resolvidos. O nome do documentista é resolvido na leitura.
+ * Mantido na mesma transação das transições de {@link SolicitacaoDocumento}; não é editado diretamente.
+ */
+@Entity
+@Table(name = "solicitacoes_listagem")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class SolicitacaoListagem implements Persistable<Long> {
+
+    // Mesmo id da solicitação
+    @Id
+    private Long id;
+
+    @Column(name = "os_id", nullable = false)
+    private Long osId;
+
+    @Column(name = "os_codigo")
+    private String os;
+
+    @Column(name = "projeto")
+    private String projeto;
+
+    @Column(name = "os_nome")
+    private String osNome;
+
+    @Column(name = "segmento_nome")
+    private String segmentoNome;
+
+    @Column(name = "site", nullable = false)
+    private String site = "";
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private StatusSolicitacaoDocumento status;
+
+    @Column(nullable = false)
+    private boolean ativo = true;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
+    @Column(name = "recebido_em")
+    private LocalDateTime recebidoEm;
+
+    @Column(name = "finalizado_em")
+    private LocalDateTime finalizadoEm;
+
+    @Embedded
+    private DocumentoListagem documento;
+
+    @Column(name = "documentista_id", nullable = false)
+    private Long documentistaId;
+
+    /**
+     * Último nome conhecido, copiado do cache de usuários nas transições; só usado quando o
+     * usuario-service não responde na leitura.
+     */
+    @Column(name = "documentista_nome")
+    private String documentistaNome;
+
+    @Column(name = "solicitante_nome")
+    private String solicitanteNome;
+
+    @Column(name = "valor", precision = 10, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "prova_envio", length = 500)
+    private String provaEnvio;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "lancamento_ids", columnDefinition = "bigint[]")
+    private Long[] lancamentoIds;
+
+    @Column(name = "qtd_lancamentos", nullable = false)
+    private int qtdLancamentos;
+
+    @Column(name = "prazo_entrega")
+    private LocalDateTime prazoEntrega;
+
+    @Column(name = "valor_desconto", precision = 10, scale = 2)
+    private BigDecimal valorDesconto;
+
+    @Column(name = "percentual_desconto", precision = 5, scale = 2)
+    private BigDecimal percentualDesconto;
+
+    @Column(name = "desconto_renegociado")
+    private Boolean descontoRenegociado;
+
+    @Column(name = "valor_final", precision = 10, scale = 2)
+    private BigDecimal valorFinal;
+
+    // O id vem da solicitação; sem isso o save() faria merge (SELECT antes de cada INSERT) e não entraria no batch
+    @Transient
+    @EqualsAndHashCode.Exclude
+    private boolean nova = true;
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarExistente() {
+        this.nova = false;
+    }
+}
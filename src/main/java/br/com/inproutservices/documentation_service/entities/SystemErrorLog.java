@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class SystemErrorLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "system_error_log_seq")
+    @SequenceGenerator(name = "system_error_log_seq", sequenceName = "system_error_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "status_code")
@@ -26,6 +27,10 @@ public class SystemErrorLog {
 
     private String uri;
 
+    /** Rota do controller (ex.: /solicitacoes/{id}); agrupa as tendências sem os ids da URI. */
+    @Column(name = "uri_template")
+    private String uriTemplate;
+
     @Column(name = "usuario_email")
     private String usuarioEmail;
 
@@ -41,11 +46,25 @@ public class SystemErrorLog {
     @Column(columnDefinition = "TEXT")
     private String detalhes;
 
-    @Column(name = "data_hora")
+    /** Chave de particionamento (uma partição por mês, V15). */
+    @Column(name = "data_hora", nullable = false)
     private LocalDateTime dataHora;
 
+    /** Hash de tipo + template da URI + topo da pilha; igual para ocorrências do mesmo erro. */
+    @Column(length = 64)
+    private String fingerprint;
+
+    /** Quantas vezes o erro ocorreu na janela de gravação, de dataHora até ultimaOcorrencia. */
+    @Column(nullable = false)
+    private Integer ocorrencias = 1;
+
+    @Column(name = "ultima_ocorrencia")
+    private LocalDateTime ultimaOcorrencia;
+
     @PrePersist
     protected void onCreate() {
-        this.dataHora = LocalDateTime.now();
+        if (this.dataHora == null) {
+            this.dataHora = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,7 @@
+package br.com.inproutservices.documentation_service.enums;
+
+public enum EstadoOutbox {
+    PENDENTE,
+    ENVIADO,
+    FALHA
+}
@@ -5,12 +5,17 @@ import br.com.inproutservices.documentation_service.dtos.responses.DocumentoResu
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoDetalheResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoEventoResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoListResponse;
+import br.com.inproutservices.documentation_service.entities.DocumentoListagem;
 import br.com.inproutservices.documentation_service.entities.DocumentoPrecificacao;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumentoEvento;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoListagem;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
 
 public final class SolicitacaoMapper {
 
@@ -54,6 +59,43 @@ public final class SolicitacaoMapper {
         );
     }
 
+    /**
+     * Linha do modelo de leitura: documento, valor e lançamentos já vêm resolvidos na própria linha.
+     */
+    public static SolicitacaoListResponse toList(SolicitacaoListagem l, String documentistaNome) {
+        if (l == null) return null;
+
+        DocumentoListagem d = l.getDocumento();
+
+        return new SolicitacaoListResponse(
+                l.getId(),
+                l.getOsId(),
+                l.getOs(),
+                l.getProjeto(),
+                l.getOsNome(),
+                l.getSegmentoNome(),
+                l.getSite(),
+                l.getStatus(),
+                l.isAtivo(),
+                l.getCriadoEm(),
+                l.getAtualizadoEm(),
+                l.getRecebidoEm(),
+                l.getFinalizadoEm(),
+                d != null ? new DocumentoResumoResponse(d.getId(), d.getNome(), d.isAtivo()) : null,
+                l.getDocumentistaId(),
+                l.getSolicitanteNome(),
+                documentistaNome,
+                l.getValor(),
+                l.getProvaEnvio(),
+                l.getLancamentoIds() != null ? new LinkedHashSet<>(Arrays.asList(l.getLancamentoIds())) : Set.of(),
+                l.getPrazoEntrega(),
+                l.getValorDesconto(),
+                l.getPercentualDesconto(),
+                l.getValorFinal(),
+                l.getDescontoRenegociado()
+        );
+    }
+
     // =========================
     // DETALHE
     // =========================
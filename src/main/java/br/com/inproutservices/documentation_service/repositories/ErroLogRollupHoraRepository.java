@@ -0,0 +1,85 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection;
+import br.com.inproutservices.documentation_service.entities.ErroLogRollupHora;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ErroLogRollupHoraRepository extends JpaRepository<ErroLogRollupHora, Long> {
+
+    /**
+     * Recalcula as horas do intervalo a partir de system_error_log (só as partições do intervalo
+     * são lidas). Idempotente: reprocessar uma hora substitui a contagem anterior.
+     */
+    @Modifying
+    @Query(value = """
+       INSERT INTO system_error_log_rollup_hora (hora, status_code, erro_tipo, uri, ocorrencias)
+       SELECT date_trunc('hour', e.data_hora),
+              COALESCE(e.status_code, 0),
+              COALESCE(e.erro_tipo, ''),
+              left(COALESCE(e.uri_template, e.uri, ''), 255),
+              SUM(e.ocorrencias)
+       FROM system_error_log e
+       WHERE e.data_hora >= :de
+         AND e.data_hora < :ate
+       GROUP BY 1, 2, 3, 4
+       ON CONFLICT (hora, status_code, erro_tipo, uri)
+       DO UPDATE SET ocorrencias = EXCLUDED.ocorrencias
+       """, nativeQuery = true)
+    int consolidar(@Param("de") LocalDateTime de, @Param("ate") LocalDateTime ate);
+
+    @Query("SELECT MAX(r.hora) FROM ErroLogRollupHora r")
+    LocalDateTime ultimaHoraConsolidada();
+
+    @Modifying
+    @Query("DELETE FROM ErroLogRollupHora r WHERE r.hora < :limite")
+    int removerAnterioresA(@Param("limite") LocalDateTime limite);
+
+    // Uma consulta por granularidade: com a unidade como parâmetro, cada date_trunc do SELECT,
+    // GROUP BY e ORDER BY vira um parâmetro JDBC diferente e o PostgreSQL não os reconhece
+    // como a mesma expressão
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection(
+              date_trunc('hour', r.hora), r.statusCode, r.erroTipo, r.uri, SUM(r.ocorrencias))
+       FROM ErroLogRollupHora r
+       WHERE r.hora >= :de
+         AND r.hora < :ate
+         AND (:statusCode IS NULL OR r.statusCode = :statusCode)
+         AND (:erroTipo IS NULL OR r.erroTipo = :erroTipo)
+         AND (:uri IS NULL OR r.uri = :uri)
+       GROUP BY date_trunc('hour', r.hora), r.statusCode, r.erroTipo, r.uri
+       ORDER BY date_trunc('hour', r.hora), SUM(r.ocorrencias) DESC
+       """)
+    List<TendenciaErroProjection> tendenciasPorHora(@Param("de") LocalDateTime de,
+                                                    @Param("ate") LocalDateTime ate,
+                                                    @Param("statusCode") Integer statusCode,
+                                                    @Param("erroTipo") String erroTipo,
+                                                    @Param("uri") String uri);
+
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection(
+              date_trunc('day', r.hora), r.statusCode, r.erroTipo, r.uri, SUM(r.ocorrencias))
+       FROM ErroLogRollupHora r
+       WHERE r.hora >= :de
+         AND r.hora < :ate
+         AND (:statusCode IS NULL OR r.statusCode = :statusCode)
+         AND (:erroTipo IS NULL OR r.erroTipo = :erroTipo)
+         AND (:uri IS NULL OR r.uri = :uri)
+       GROUP BY date_trunc('day', r.hora), r.statusCode, r.erroTipo, r.uri
+       ORDER BY date_trunc('day', r.hora), SUM(r.ocorrencias) DESC
+       """)
+    List<TendenciaErroProjection> tendenciasPorDia(@Param("de") LocalDateTime de,
+                                                   @Param("ate") LocalDateTime ate,
+                                                   @Param("statusCode") Integer statusCode,
+                                                   @Param("erroTipo") String erroTipo,
+                                                   @Param("uri") String uri);
+
+    // Só uma instância faz a manutenção por vez; o lock é liberado no fim da transação
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:chave)", nativeQuery = true)
+    boolean tentarLockManutencao(@Param("chave") long chave);
+}
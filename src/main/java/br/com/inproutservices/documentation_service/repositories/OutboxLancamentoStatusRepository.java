@@ -0,0 +1,76 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.entities.OutboxLancamentoStatus;
+import br.com.inproutservices.documentation_service.enums.EstadoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxLancamentoStatusRepository extends JpaRepository<OutboxLancamentoStatus, Long> {
+
+    /**
+     * Registros prontos para envio (pendentes, fora da janela de agregação e sem espera de nova
+     * tentativa), os primeiros {@code lote} em ordem de gravação, junto com os registros anteriores
+     * que ainda não podem ir (em espera ou FALHA) e compartilham lançamento com algum pronto, ou a
+     * OS+Site quando um dos dois é PDI. Uma consulta só, para que prontos e bloqueantes venham do
+     * mesmo instante; a ordem por id é o que garante a ordem por lançamento no envio.
+     * Os anteriores saem de um join por tipo de chave, com os prontos por fora: cada pronto vira
+     * uma busca nos índices parciais da V17 (GIN em lancamento_ids e OS+Site).
+     */
+    @Query(value = """
+            WITH prontos AS (
+                SELECT id, os_id, site, expandir_pdi, lancamento_ids
+                FROM outbox_lancamento_status
+                WHERE estado = 'PENDENTE'
+                  AND proxima_tentativa_em <= :agora
+                  AND criado_em <= :limiteJanela
+                ORDER BY id
+                LIMIT :lote
+            ),
+            bloqueantes AS (
+                SELECT o.id
+                FROM prontos p
+                JOIN outbox_lancamento_status o ON o.lancamento_ids && p.lancamento_ids
+                WHERE o.estado IN ('PENDENTE', 'FALHA')
+                  AND o.id < p.id
+                UNION
+                SELECT o.id
+                FROM prontos p
+                JOIN outbox_lancamento_status o ON o.os_id = p.os_id AND o.site = p.site
+                WHERE o.estado IN ('PENDENTE', 'FALHA')
+                  AND o.id < p.id
+                  AND (p.expandir_pdi OR o.expandir_pdi)
+            )
+            SELECT o.* FROM outbox_lancamento_status o
+            WHERE o.id IN (SELECT id FROM prontos)
+               OR (o.id IN (SELECT id FROM bloqueantes)
+                   AND NOT (o.estado = 'PENDENTE'
+                            AND o.proxima_tentativa_em <= :agora
+                            AND o.criado_em <= :limiteJanela))
+            ORDER BY o.id
+            """, nativeQuery = true)
+    List<OutboxLancamentoStatus> buscarParaDespacho(@Param("agora") LocalDateTime agora,
+                                                    @Param("limiteJanela") LocalDateTime limiteJanela,
+                                                    @Param("lote") int lote);
+
+    long countByEstado(EstadoOutbox estado);
+
+    // Retenção: um lote de registros já entregues por vez, para a transação ficar curta
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_lancamento_status
+            WHERE id IN (SELECT id FROM outbox_lancamento_status
+                         WHERE estado = 'ENVIADO'
+                           AND enviado_em < :limite
+                         LIMIT :lote)
+            """, nativeQuery = true)
+    int removerEnviadosAnteriores(@Param("limite") LocalDateTime limite, @Param("lote") int lote);
+
+    // Só uma instância reserva por vez; o lock é liberado no fim da transação de reserva
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:chave)", nativeQuery = true)
+    boolean tentarLockDespacho(@Param("chave") long chave);
+}
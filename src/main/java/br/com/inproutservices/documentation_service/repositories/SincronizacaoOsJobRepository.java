@@ -0,0 +1,32 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.entities.SincronizacaoOsJob;
+import br.com.inproutservices.documentation_service.enums.EstadoSincronizacao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SincronizacaoOsJobRepository extends JpaRepository<SincronizacaoOsJob, Long> {
+
+    Optional<SincronizacaoOsJob> findFirstByOrderByIdDesc();
+
+    Optional<SincronizacaoOsJob> findFirstByEstadoOrderByIdAsc(EstadoSincronizacao estado);
+
+    // Reserva atômica: só uma instância executa o job; a reserva vencida permite retomar
+    @Modifying
+    @Query("""
+       UPDATE SincronizacaoOsJob j
+       SET j.reservadoAte = :ate, j.atualizadoEm = :agora
+       WHERE j.id = :id
+         AND j.estado = :estado
+         AND (j.reservadoAte IS NULL OR j.reservadoAte < :agora)
+       """)
+    int reservar(@Param("id") Long id,
+                 @Param("estado") EstadoSincronizacao estado,
+                 @Param("agora") LocalDateTime agora,
+                 @Param("ate") LocalDateTime ate);
+}
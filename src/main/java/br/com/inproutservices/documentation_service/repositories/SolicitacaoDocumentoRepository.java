@@ -1,13 +1,17 @@
 package br.com.inproutservices.documentation_service.repositories;
 
+import br.com.inproutservices.documentation_service.dtos.projections.ChaveSolicitacaoProjection;
+import br.com.inproutservices.documentation_service.dtos.projections.CustoOsProjection;
+import br.com.inproutservices.documentation_service.dtos.projections.SolicitacaoOsProjection;
+import br.com.inproutservices.documentation_service.dtos.projections.TotalPorStatusProjection;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
 import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface SolicitacaoDocumentoRepository extends JpaRepository<SolicitacaoDocumento, Long> {
@@ -22,16 +26,37 @@ public interface SolicitacaoDocumentoRepository extends JpaRepository<Solicitaca
 
     List<SolicitacaoDocumento> findByDocumentistaIdAndStatus(Long documentistaId, StatusSolicitacaoDocumento status);
 
-    Page<SolicitacaoDocumento> findAll(Pageable pageable);
-    Page<SolicitacaoDocumento> findByStatus(StatusSolicitacaoDocumento status, Pageable pageable);
-    Page<SolicitacaoDocumento> findByOsId(Long osId, Pageable pageable);
-    Page<SolicitacaoDocumento> findByOsIdAndStatus(Long osId, StatusSolicitacaoDocumento status, Pageable pageable);
-    Page<SolicitacaoDocumento> findByDocumentistaId(Long documentistaId, Pageable pageable);
-    Page<SolicitacaoDocumento> findByDocumentistaIdAndStatus(Long documentistaId, StatusSolicitacaoDocumento status, Pageable pageable);
-
     // Único método de unicidade: OS + Site (nunca null, default '') + Documento + Documentista
     boolean existsByOsIdAndSiteAndDocumento_IdAndDocumentistaId(Long osId, String site, Long documentoId, Long documentistaId);
 
+    // Mesma chave de unicidade, de uma vez para todas as OSs de um lote
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.ChaveSolicitacaoProjection(
+              s.osId, s.site, s.documento.id, s.documentistaId)
+       FROM SolicitacaoDocumento s
+       WHERE s.osId IN :osIds
+       """)
+    List<ChaveSolicitacaoProjection> buscarChavesPorOs(@Param("osIds") Collection<Long> osIds);
+
+    // Sincronização retroativa: solicitações sem OS/projeto/segmento (ou com site NULL), em ordem de id
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.SolicitacaoOsProjection(s.id, s.osId)
+       FROM SolicitacaoDocumento s
+       WHERE s.id > :ultimoId
+         AND (s.os IS NULL OR s.projeto IS NULL OR s.segmentoNome IS NULL
+              OR TRIM(s.segmentoNome) = '' OR s.segmentoNome = '-' OR s.site IS NULL)
+       ORDER BY s.id
+       """)
+    List<SolicitacaoOsProjection> buscarPendentesSincronizacaoOs(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
+    @Query("""
+       SELECT COUNT(s)
+       FROM SolicitacaoDocumento s
+       WHERE s.os IS NULL OR s.projeto IS NULL OR s.segmentoNome IS NULL
+          OR TRIM(s.segmentoNome) = '' OR s.segmentoNome = '-' OR s.site IS NULL
+       """)
+    long contarPendentesSincronizacaoOs();
+
     @Query("""
        SELECT s
        FROM SolicitacaoDocumento s
@@ -50,12 +75,37 @@ public interface SolicitacaoDocumentoRepository extends JpaRepository<Solicitaca
     List<SolicitacaoDocumento> listarPorDocumentistaEStatus(@Param("usuarioId") Long usuarioId,
                                                             @Param("status") StatusSolicitacaoDocumento status);
 
-    Page<SolicitacaoDocumento> findBySegmentoNomeIn(List<String> segmentoNome, Pageable pageable);
-    Page<SolicitacaoDocumento> findByStatusAndSegmentoNomeIn(StatusSolicitacaoDocumento status, List<String> segmentoNome, Pageable pageable);
-    Page<SolicitacaoDocumento> findByOsIdAndSegmentoNomeIn(Long osId, List<String> segmentoNome, Pageable pageable);
-    Page<SolicitacaoDocumento> findByOsIdAndStatusAndSegmentoNomeIn(Long osId, StatusSolicitacaoDocumento status, List<String> segmentoNome, Pageable pageable);
-    Page<SolicitacaoDocumento> findByDocumentistaIdAndSegmentoNomeIn(Long documentistaId, List<String> segmentoNome, Pageable pageable);
-    Page<SolicitacaoDocumento> findByDocumentistaIdAndStatusAndSegmentoNomeIn(Long documentistaId, StatusSolicitacaoDocumento status, List<String> segmentoNome, Pageable pageable);
+    // Soma, por status, o valor do documentista em cada solicitação de documentos em que ele está vinculado.
+    // Um único preço por (documento, usuário), o de menor id: nada impede linhas duplicadas em
+    // documento_precificacao, e somar todas dobraria o total.
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.TotalPorStatusProjection(s.status, SUM(p.valor))
+       FROM SolicitacaoDocumento s
+       JOIN s.documento d
+       JOIN d.precificacoes p
+       WHERE :usuarioId MEMBER OF d.documentistasIds
+         AND p.usuarioId = :usuarioId
+         AND p.id = (SELECT MIN(p2.id) FROM DocumentoPrecificacao p2
+                     WHERE p2.documento = d AND p2.usuarioId = :usuarioId)
+       GROUP BY s.status
+       """)
+    List<TotalPorStatusProjection> somarValoresDoDocumentistaPorStatus(@Param("usuarioId") Long usuarioId);
 
-    List<SolicitacaoDocumento> findByOsIdIn(List<Long> osIds);
+    // Custos por OS agregados no banco: "previsto" soma todas as solicitações, "pago" só as dos status informados.
+    // Um único preço por (documento, documentista), como em somarValoresDoDocumentistaPorStatus.
+    @Query("""
+       SELECT new br.com.inproutservices.documentation_service.dtos.projections.CustoOsProjection(
+              s.osId,
+              SUM(p.valor),
+              SUM(CASE WHEN s.status IN :statusPagos THEN p.valor END))
+       FROM SolicitacaoDocumento s
+       JOIN s.documento d
+       LEFT JOIN d.precificacoes p ON p.usuarioId = s.documentistaId
+            AND p.id = (SELECT MIN(p2.id) FROM DocumentoPrecificacao p2
+                        WHERE p2.documento = d AND p2.usuarioId = s.documentistaId)
+       WHERE s.osId IN :osIds
+       GROUP BY s.osId
+       """)
+    List<CustoOsProjection> somarCustosPorOs(@Param("osIds") Collection<Long> osIds,
+                                             @Param("statusPagos") Collection<StatusSolicitacaoDocumento> statusPagos);
 }
@@ -0,0 +1,36 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.entities.SolicitacaoListagem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SolicitacaoListagemRepository extends JpaRepository<SolicitacaoListagem, Long>,
+        JpaSpecificationExecutor<SolicitacaoListagem> {
+
+    // Propaga renomear/ativar/desativar documento para todas as linhas dele
+    @Modifying(flushAutomatically = true)
+    @Query("""
+       UPDATE SolicitacaoListagem l
+       SET l.documento.nome = :nome,
+           l.documento.ativo = :ativo
+       WHERE l.documento.id = :documentoId
+       """)
+    int atualizarDocumento(@Param("documentoId") Long documentoId,
+                           @Param("nome") String nome,
+                           @Param("ativo") boolean ativo);
+
+    // Recalcula o valor do documentista de cada linha a partir da precificação atual do documento
+    @Modifying(flushAutomatically = true)
+    @Query("""
+       UPDATE SolicitacaoListagem l
+       SET l.valor = (SELECT p.valor
+                      FROM DocumentoPrecificacao p
+                      WHERE p.documento.id = l.documento.id
+                        AND p.usuarioId = l.documentistaId)
+       WHERE l.documento.id = :documentoId
+       """)
+    int atualizarValores(@Param("documentoId") Long documentoId);
+}
@@ -0,0 +1,61 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.dtos.CursorSolicitacao;
+import br.com.inproutservices.documentation_service.dtos.FiltroSolicitacao;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoListagem;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SolicitacaoListagemSpecifications {
+
+    private SolicitacaoListagemSpecifications() {
+    }
+
+    /**
+     * Monta um único WHERE a partir dos filtros informados. As combinações usadas pelas telas
+     * são cobertas pelos índices da V8.
+     */
+    public static Specification<SolicitacaoListagem> comFiltro(FiltroSolicitacao filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro == null) return cb.and();
+
+            if (filtro.osId() != null) predicados.add(cb.equal(root.get("osId"), filtro.osId()));
+            if (filtro.status() != null) predicados.add(cb.equal(root.get("status"), filtro.status()));
+            if (filtro.documentistaId() != null) predicados.add(cb.equal(root.get("documentistaId"), filtro.documentistaId()));
+            if (filtro.documentoId() != null) predicados.add(cb.equal(root.get("documento").get("id"), filtro.documentoId()));
+            if (filtro.segmentos() != null && !filtro.segmentos().isEmpty()) {
+                predicados.add(root.get("segmentoNome").in(filtro.segmentos()));
+            }
+            if (filtro.criadoDe() != null) predicados.add(cb.greaterThanOrEqualTo(root.get("criadoEm"), filtro.criadoDe()));
+            if (filtro.criadoAte() != null) predicados.add(cb.lessThan(root.get("criadoEm"), filtro.criadoAte()));
+
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Continua a paginação por cursor a partir da última linha entregue, na ordem (criadoEm DESC, id DESC).
+     * O {@code criadoEm <= cursor} redundante é o que limita a faixa no índice (criado_em DESC, id DESC):
+     * só com o OR o Postgres lê o índice desde o topo e filtra, e páginas profundas custam O(profundidade).
+     */
+    public static Specification<SolicitacaoListagem> depoisDoCursor(CursorSolicitacao cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return cb.and();
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("criadoEm"), cursor.criadoEm()),
+                    cb.or(
+                            cb.lessThan(root.get("criadoEm"), cursor.criadoEm()),
+                            cb.and(
+                                    cb.equal(root.get("criadoEm"), cursor.criadoEm()),
+                                    cb.lessThan(root.get("id"), cursor.id())
+                            )
+                    )
+            );
+        };
+    }
+}
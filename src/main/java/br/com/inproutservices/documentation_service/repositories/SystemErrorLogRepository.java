@@ -1,24 +1,30 @@
 package br.com.inproutservices.documentation_service.repositories;
 
 import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface SystemErrorLogRepository extends JpaRepository<SystemErrorLog, Long> {
+import java.time.LocalDate;
+import java.util.List;
 
-    Page<SystemErrorLog> findAllByOrderByDataHoraDesc(Pageable pageable);
+/**
+ * Consultas da auditoria montadas por {@link SystemErrorLogSpecifications}, cobertas pelos índices da V14.
+ */
+public interface SystemErrorLogRepository extends JpaRepository<SystemErrorLog, Long>,
+        JpaSpecificationExecutor<SystemErrorLog> {
 
-    @Query("SELECT s FROM SystemErrorLog s WHERE " +
-           "(:statusCode IS NULL OR s.statusCode = :statusCode) AND " +
-           "(:busca IS NULL OR :busca = '' OR " +
-           "LOWER(s.uri) LIKE LOWER(CONCAT('%', :busca, '%')) OR " +
-           "LOWER(s.usuarioEmail) LIKE LOWER(CONCAT('%', :busca, '%')) OR " +
-           "LOWER(s.mensagem) LIKE LOWER(CONCAT('%', :busca, '%'))) " +
-           "ORDER BY s.dataHora DESC")
-    Page<SystemErrorLog> buscarComFiltros(@Param("statusCode") Integer statusCode,
-                                          @Param("busca") String busca,
-                                          Pageable pageable);
+    // Funções da V16; DDL, então cada chamada precisa de uma transação de escrita em volta
+    @Query(value = "SELECT criar_particao_system_error_log(:mes)", nativeQuery = true)
+    String criarParticao(@Param("mes") LocalDate mes);
+
+    @Query(value = "SELECT particoes_system_error_log_ate(:limite)", nativeQuery = true)
+    List<String> particoesAte(@Param("limite") LocalDate limite);
+
+    @Query(value = "SELECT remover_particao_system_error_log(:nome)", nativeQuery = true)
+    Boolean removerParticao(@Param("nome") String nome);
+
+    @Query(value = "SELECT limpar_padrao_system_error_log(:limite)", nativeQuery = true)
+    Integer limparParticaoPadraoAte(@Param("limite") LocalDate limite);
 }
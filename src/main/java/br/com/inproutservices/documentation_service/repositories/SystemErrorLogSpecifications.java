@@ -0,0 +1,76 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.dtos.CursorErroLog;
+import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class SystemErrorLogSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private SystemErrorLogSpecifications() {
+    }
+
+    /**
+     * Só inclui no WHERE os filtros informados, para o planner usar os índices da V14:
+     * status pelo (status_code, data_hora, id) e a busca pelos índices de trigramas em
+     * lower(uri), lower(usuario_email) e lower(mensagem).
+     */
+    public static Specification<SystemErrorLog> comFiltro(Integer statusCode, String busca) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+
+            if (statusCode != null) predicados.add(cb.equal(root.get("statusCode"), statusCode));
+            if (busca != null && !busca.isBlank()) {
+                String padrao = "%" + escaparLike(busca.trim().toLowerCase(Locale.ROOT)) + "%";
+                predicados.add(cb.or(
+                        contem(cb, root, "uri", padrao),
+                        contem(cb, root, "usuarioEmail", padrao),
+                        contem(cb, root, "mensagem", padrao)
+                ));
+            }
+
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Continua a paginação por cursor a partir da última linha entregue, na ordem (dataHora DESC, id DESC).
+     * O {@code dataHora <= cursor} redundante vira condição de índice em (data_hora DESC, id DESC)
+     * e nas partições; o OR sozinho só filtra depois de ler.
+     */
+    public static Specification<SystemErrorLog> depoisDoCursor(CursorErroLog cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) return cb.and();
+
+            return cb.and(
+                    cb.lessThanOrEqualTo(root.get("dataHora"), cursor.dataHora()),
+                    cb.or(
+                            cb.lessThan(root.get("dataHora"), cursor.dataHora()),
+                            cb.and(
+                                    cb.equal(root.get("dataHora"), cursor.dataHora()),
+                                    cb.lessThan(root.get("id"), cursor.id())
+                            )
+                    )
+            );
+        };
+    }
+
+    private static Predicate contem(CriteriaBuilder cb, Root<SystemErrorLog> root, String campo, String padrao) {
+        // lower(coluna) LIKE padrão: mesma expressão dos índices, o termo já vem em minúsculas
+        Expression<String> coluna = cb.lower(root.get(campo));
+        return cb.like(coluna, padrao, ESCAPE);
+    }
+
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
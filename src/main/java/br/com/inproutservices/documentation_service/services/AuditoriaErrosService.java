@@ -0,0 +1,140 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.dtos.CursorErroLog;
+import br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection;
+import br.com.inproutservices.documentation_service.dtos.responses.ErroLogCursorResponse;
+import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
+import br.com.inproutservices.documentation_service.repositories.ErroLogRollupHoraRepository;
+import br.com.inproutservices.documentation_service.repositories.SystemErrorLogRepository;
+import br.com.inproutservices.documentation_service.repositories.SystemErrorLogSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Leitura do log de erros para a auditoria do admin.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditoriaErrosService {
+
+    private static final int TAMANHO_MAXIMO_PAGINA = 200;
+    // Abaixo de 3 caracteres o índice de trigramas não filtra nada e a busca vira varredura
+    private static final int TAMANHO_MINIMO_BUSCA = 3;
+    private static final Sort ORDEM = Sort.by(Sort.Direction.DESC, "dataHora", "id");
+    private static final Duration PERIODO_PADRAO_TENDENCIAS = Duration.ofDays(7);
+    private static final Duration PERIODO_MAXIMO_POR_HORA = Duration.ofDays(31);
+    private static final Duration PERIODO_MAXIMO_POR_DIA = Duration.ofDays(366);
+
+    private final SystemErrorLogRepository systemErrorLogRepository;
+    private final ErroLogRollupHoraRepository rollupRepository;
+
+    // =========================
+    // LISTAGENS
+    // =========================
+
+    /**
+     * Listagem paginada por OFFSET, mantida para as telas que ainda usam page/size. Mantém o
+     * contrato antigo: sem tamanho mínimo de busca nem limite de página (os limites valem só
+     * para a listagem por cursor).
+     */
+    public Page<SystemErrorLog> listar(Integer statusCode, String busca, int pagina, int tamanho) {
+        return systemErrorLogRepository.findAll(SystemErrorLogSpecifications.comFiltro(statusCode, termo(busca)),
+                PageRequest.of(pagina, tamanho, ORDEM));
+    }
+
+    /**
+     * Listagem por cursor: continua a partir da última linha entregue em vez de usar OFFSET e não
+     * executa COUNT, então páginas profundas custam o mesmo que a primeira.
+     */
+    public ErroLogCursorResponse listarPorCursor(Integer statusCode, String busca, String cursor, int tamanho) {
+        validarTamanho(tamanho);
+
+        Specification<SystemErrorLog> spec = filtro(statusCode, busca)
+                .and(SystemErrorLogSpecifications.depoisDoCursor(CursorErroLog.decodificar(cursor)));
+
+        // Busca uma linha a mais só para saber se existe próxima página
+        List<SystemErrorLog> linhas = systemErrorLogRepository.findBy(spec, q -> q
+                .sortBy(ORDEM)
+                .limit(tamanho + 1)
+                .all());
+
+        boolean temMais = linhas.size() > tamanho;
+        List<SystemErrorLog> pagina = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        String proximoCursor = null;
+        if (temMais) {
+            SystemErrorLog ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorErroLog(ultima.getDataHora(), ultima.getId()).codificar();
+        }
+
+        return new ErroLogCursorResponse(pagina, proximoCursor, temMais);
+    }
+
+    // =========================
+    // TENDÊNCIAS
+    // =========================
+
+    /**
+     * Ocorrências por período (hora ou dia), status, tipo e template da URI, lidas da
+     * consolidação por hora. Cobre também o histórico cujas partições já saíram da retenção.
+     * A hora em andamento só aparece depois da próxima consolidação.
+     */
+    public List<TendenciaErroProjection> tendencias(LocalDateTime de, LocalDateTime ate, String granularidade,
+                                                    Integer statusCode, String erroTipo, String uri) {
+        String unidade = switch (granularidade == null ? "hora" : granularidade.trim().toLowerCase(Locale.ROOT)) {
+            case "hora" -> "hour";
+            case "dia" -> "day";
+            default -> throw new RuntimeException("Granularidade inválida: use 'hora' ou 'dia'.");
+        };
+
+        LocalDateTime fim = ate != null ? ate : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime inicio = de != null ? de : fim.minus(PERIODO_PADRAO_TENDENCIAS);
+        if (!inicio.isBefore(fim)) {
+            throw new RuntimeException("O início do período deve ser anterior ao fim.");
+        }
+
+        Duration maximo = "hour".equals(unidade) ? PERIODO_MAXIMO_POR_HORA : PERIODO_MAXIMO_POR_DIA;
+        if (Duration.between(inicio, fim).compareTo(maximo) > 0) {
+            throw new RuntimeException("Período máximo para granularidade '" + granularidade + "': "
+                    + maximo.toDays() + " dias.");
+        }
+
+        String tipo = erroTipo != null && !erroTipo.isBlank() ? erroTipo.trim() : null;
+        String rota = uri != null && !uri.isBlank() ? uri.trim() : null;
+        return "hour".equals(unidade)
+                ? rollupRepository.tendenciasPorHora(inicio, fim, statusCode, tipo, rota)
+                : rollupRepository.tendenciasPorDia(inicio, fim, statusCode, tipo, rota);
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    private Specification<SystemErrorLog> filtro(Integer statusCode, String busca) {
+        String termo = termo(busca);
+        if (termo != null && termo.length() < TAMANHO_MINIMO_BUSCA) {
+            throw new RuntimeException("A busca deve ter ao menos " + TAMANHO_MINIMO_BUSCA + " caracteres.");
+        }
+        return SystemErrorLogSpecifications.comFiltro(statusCode, termo);
+    }
+
+    private String termo(String busca) {
+        return busca != null && !busca.isBlank() ? busca.trim() : null;
+    }
+
+    private void validarTamanho(int tamanho) {
+        if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new RuntimeException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.inproutservices.documentation_service.services;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Dispara chamadas remotas independentes em paralelo, todas sob um mesmo prazo, para que o
+ * tempo de um fluxo seja o da dependência mais lenta e não a soma de todas. As tarefas rodam
+ * no applicationTaskExecutor com o contexto da requisição (ver ContextoAssincronoConfig).
+ *
+ * Só para chamadas HTTP: consultas ao banco continuam na thread da transação, que é a dona
+ * do EntityManager.
+ *
+ * Estourado o prazo, as tarefas são canceladas com interrupção (Future do próprio executor).
+ * A busca em lote para na próxima chave; uma leitura HTTP já em andamento só termina no
+ * read timeout do Feign, a não ser em thread virtual, onde a interrupção fecha o socket.
+ */
+@Service
+public class ChamadasRemotasParalelas {
+
+    private final AsyncTaskExecutor executor;
+
+    @Value("${chamadas-remotas.prazo:6s}")
+    private Duration prazo;
+
+    // Abaixo do bulkhead do monolito, para o fan-out de um lote não esgotá-lo sozinho
+    @Value("${chamadas-remotas.paralelismo-maximo:4}")
+    private int paralelismoMaximo;
+
+    public ChamadasRemotasParalelas(@Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    /** Resultado de uma busca por várias chaves: o que foi obtido e a mensagem de erro das demais. */
+    public record Resultados<K, V>(Map<K, V> valores, Map<K, String> falhas) {}
+
+    /** Instante (System.nanoTime) até o qual as chamadas iniciadas agora podem ser aguardadas. */
+    public long novoPrazo() {
+        return System.nanoTime() + prazo.toNanos();
+    }
+
+    public <T> Future<T> iniciar(Supplier<T> chamada) {
+        return executor.submit(chamada::get);
+    }
+
+    /**
+     * Aguarda a chamada até o prazo. Falhas sobem como a exceção original; se o prazo
+     * estourar, a chamada é cancelada (com interrupção) e sobe uma RuntimeException com a
+     * descrição informada.
+     */
+    public <T> T aguardar(Future<T> chamada, long prazoFinal, String descricao) {
+        try {
+            return chamada.get(Math.max(0, prazoFinal - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            chamada.cancel(true);
+            throw new RuntimeException("Tempo limite de " + prazo.toMillis() + "ms excedido ao " + descricao + ".");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw new RuntimeException(e.getCause());
+        } catch (CancellationException e) {
+            throw new RuntimeException("Chamada cancelada ao " + descricao + ".");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrompido ao " + descricao + ".");
+        }
+    }
+
+    /**
+     * Busca cada chave com no máximo {@code chamadas-remotas.paralelismo-maximo} chamadas
+     * simultâneas, todas sob um único prazo. Chaves que falharem ou não forem buscadas a tempo
+     * vão para {@link Resultados#falhas()} com a mensagem do erro.
+     */
+    public <K, V> Resultados<K, V> buscarTodos(Collection<K> chaves, Function<K, V> busca, String descricao) {
+        return buscarTodos(chaves, busca, descricao, prazo);
+    }
+
+    /** Como {@link #buscarTodos(Collection, Function, String)}, com um prazo próprio (ex.: jobs em segundo plano). */
+    public <K, V> Resultados<K, V> buscarTodos(Collection<K> chaves, Function<K, V> busca, String descricao, Duration prazoBusca) {
+        Map<K, V> valores = new ConcurrentHashMap<>();
+        Map<K, String> falhas = new ConcurrentHashMap<>();
+        if (chaves == null || chaves.isEmpty()) return new Resultados<>(valores, falhas);
+
+        long prazoFinal = System.nanoTime() + prazoBusca.toNanos();
+        int faixas = Math.max(1, Math.min(paralelismoMaximo, chaves.size()));
+
+        // Cada faixa percorre sua parte das chaves em sequência: no máximo "faixas" chamadas ao mesmo tempo
+        List<List<K>> porFaixa = new ArrayList<>();
+        for (int i = 0; i < faixas; i++) porFaixa.add(new ArrayList<>());
+        int i = 0;
+        for (K chave : chaves) porFaixa.get(i++ % faixas).add(chave);
+
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (List<K> faixa : porFaixa) {
+            tarefas.add(executor.submit(() -> {
+                for (K chave : faixa) {
+                    if (System.nanoTime() >= prazoFinal || Thread.currentThread().isInterrupted()) return;
+                    try {
+                        V valor = busca.apply(chave);
+                        if (valor != null) valores.put(chave, valor);
+                        else falhas.put(chave, "Resposta vazia ao " + descricao + ".");
+                    } catch (RuntimeException e) {
+                        falhas.put(chave, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+                    }
+                }
+            }));
+        }
+
+        try {
+            for (Future<?> tarefa : tarefas) aguardar(tarefa, prazoFinal, descricao);
+        } catch (RuntimeException e) {
+            // Prazo estourado: interrompe as faixas que ainda estão rodando
+            tarefas.forEach(t -> t.cancel(true));
+        }
+
+        for (K chave : chaves) {
+            if (!valores.containsKey(chave) && !falhas.containsKey(chave)) {
+                falhas.put(chave, "Tempo limite de " + prazoBusca.toMillis() + "ms excedido ao " + descricao + ".");
+            }
+        }
+        return new Resultados<>(Map.copyOf(valores), Map.copyOf(falhas));
+    }
+}
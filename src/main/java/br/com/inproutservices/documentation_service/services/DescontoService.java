@@ -47,7 +47,16 @@ public class DescontoService {
      */
     public BigDecimal calcularPercentualDesconto(SolicitacaoDocumento s) {
         if (s.getPrazoEntrega() == null || s.getFinalizadoEm() == null) return BigDecimal.ZERO;
-        if (!isDescontoAtivo()) return BigDecimal.ZERO;
+        return calcularPercentualDesconto(s, isDescontoAtivo());
+    }
+
+    /**
+     * Igual a {@link #calcularPercentualDesconto(SolicitacaoDocumento)}, com a configuração de desconto
+     * já lida (operações em lote leem uma vez para todas as solicitações).
+     */
+    public BigDecimal calcularPercentualDesconto(SolicitacaoDocumento s, boolean descontoAtivo) {
+        if (s.getPrazoEntrega() == null || s.getFinalizadoEm() == null) return BigDecimal.ZERO;
+        if (!descontoAtivo) return BigDecimal.ZERO;
         if (Boolean.TRUE.equals(s.getDescontoRenegociado())) return s.getPercentualDesconto() != null ? s.getPercentualDesconto() : BigDecimal.ZERO;
 
         if (!s.getFinalizadoEm().isAfter(s.getPrazoEntrega())) return BigDecimal.ZERO;
@@ -63,6 +72,11 @@ public class DescontoService {
      * Aplica o desconto na solicitação (seta valorDesconto, percentualDesconto, valorFinal).
      */
     public void aplicarDesconto(SolicitacaoDocumento s, BigDecimal valorOriginal) {
+        aplicarDesconto(s, valorOriginal, null);
+    }
+
+    /** Com {@code descontoAtivo} nulo, a configuração é lida do banco. */
+    public void aplicarDesconto(SolicitacaoDocumento s, BigDecimal valorOriginal, Boolean descontoAtivo) {
         if (valorOriginal == null || valorOriginal.compareTo(BigDecimal.ZERO) <= 0) {
             s.setValorDesconto(BigDecimal.ZERO);
             s.setPercentualDesconto(BigDecimal.ZERO);
@@ -70,7 +84,9 @@ public class DescontoService {
             return;
         }
 
-        BigDecimal percentual = calcularPercentualDesconto(s);
+        BigDecimal percentual = descontoAtivo != null
+                ? calcularPercentualDesconto(s, descontoAtivo)
+                : calcularPercentualDesconto(s);
         BigDecimal desconto = valorOriginal.multiply(percentual).setScale(2, RoundingMode.HALF_UP);
         BigDecimal valorFinal = valorOriginal.subtract(desconto);
 
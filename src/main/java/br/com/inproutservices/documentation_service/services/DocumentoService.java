@@ -7,6 +7,7 @@ import br.com.inproutservices.documentation_service.dtos.PrecificarDocumentoRequ
 import br.com.inproutservices.documentation_service.entities.Documento;
 import br.com.inproutservices.documentation_service.entities.DocumentoPrecificacao;
 import br.com.inproutservices.documentation_service.repositories.DocumentoRepository;
+import br.com.inproutservices.documentation_service.repositories.SolicitacaoListagemRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,6 +20,7 @@ import java.util.*;
 public class DocumentoService {
 
     private final DocumentoRepository documentoRepository;
+    private final SolicitacaoListagemRepository listagemRepository;
 
     // =========================
     // DOCUMENTO
@@ -57,7 +59,12 @@ public class DocumentoService {
         //se remover documentistas, limpa precificações de usuários que não estão mais na lista
         doc.getPrecificacoes().removeIf(p -> !doc.getDocumentistasIds().contains(p.getUsuarioId()));
 
-        return documentoRepository.save(doc);
+        Documento salvo = documentoRepository.save(doc);
+
+        listagemRepository.atualizarDocumento(salvo.getId(), salvo.getNome(), salvo.isAtivo());
+        listagemRepository.atualizarValores(salvo.getId());
+
+        return salvo;
     }
 
     @Transactional
@@ -65,6 +72,8 @@ public class DocumentoService {
         Documento doc = buscarDocumentoOuFalhar(documentoId);
         doc.setAtivo(false);
         documentoRepository.save(doc);
+
+        listagemRepository.atualizarDocumento(doc.getId(), doc.getNome(), false);
     }
 
     @Transactional
@@ -72,6 +81,8 @@ public class DocumentoService {
         Documento doc = buscarDocumentoOuFalhar(documentoId);
         doc.setAtivo(true);
         documentoRepository.save(doc);
+
+        listagemRepository.atualizarDocumento(doc.getId(), doc.getNome(), true);
     }
 
     public Documento buscarDocumento(Long documentoId) {
@@ -118,7 +129,11 @@ public class DocumentoService {
             doc.getPrecificacoes().add(p);
         }
 
-        return documentoRepository.save(doc);
+        Documento salvo = documentoRepository.save(doc);
+
+        listagemRepository.atualizarValores(salvo.getId());
+
+        return salvo;
     }
 
     public BigDecimal buscarValorDoDocumentistaNoDocumento(Long documentoId, Long usuarioId) {
@@ -0,0 +1,48 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.client.MonolitoClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class LancamentosPdiFacade {
+
+    private final MonolitoClient monolitoClient;
+    private final Cache<String, Set<Long>> lancamentosPdiCache;
+
+    /**
+     * Lançamentos aprovados de uma OS+Site no monolito (expansão dos documentos PDI), com cache
+     * curto por (osId, site). Respostas vazias não ficam em cache, para que lançamentos aprovados
+     * logo em seguida apareçam na próxima busca; falhas também não.
+     */
+    public Set<Long> buscar(Long osId, String site) {
+        String chave = chave(osId, site);
+        Set<Long> emCache = lancamentosPdiCache.getIfPresent(chave);
+        if (emCache != null) return emCache;
+
+        Set<Long> ids = monolitoClient.buscarLancamentosPorOsSite(osId, site);
+        if (ids == null || ids.isEmpty()) return ids;
+
+        Set<Long> imutavel = Set.copyOf(ids);
+        lancamentosPdiCache.put(chave, imutavel);
+        return imutavel;
+    }
+
+    /** Sem site, invalida todos os sites da OS. */
+    public void invalidar(Long osId, String site) {
+        if (site != null) {
+            lancamentosPdiCache.invalidate(chave(osId, site));
+            return;
+        }
+        String prefixo = osId + "|";
+        lancamentosPdiCache.asMap().keySet().removeIf(k -> k.startsWith(prefixo));
+    }
+
+    private String chave(Long osId, String site) {
+        return osId + "|" + (site != null ? site : "");
+    }
+}
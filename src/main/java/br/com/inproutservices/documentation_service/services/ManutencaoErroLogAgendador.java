@@ -0,0 +1,40 @@
+package br.com.inproutservices.documentation_service.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ManutencaoErroLogAgendador {
+
+    private final ManutencaoErroLogService manutencaoService;
+
+    @Value("${error-log.manutencao.habilitada:true}")
+    private boolean habilitada;
+
+    @Scheduled(cron = "${error-log.manutencao.cron-rollup:0 5 * * * *}")
+    public void consolidarHoras() {
+        if (!habilitada) return;
+
+        try {
+            manutencaoService.consolidarHoras();
+        } catch (Exception e) {
+            log.warn("Falha ao consolidar o log de erros por hora: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${error-log.manutencao.cron-particoes:0 15 3 * * *}")
+    public void manterParticoes() {
+        if (!habilitada) return;
+
+        try {
+            manutencaoService.manterParticoes();
+        } catch (Exception e) {
+            log.warn("Falha na manutenção das partições do log de erros: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.repositories.ErroLogRollupHoraRepository;
+import br.com.inproutservices.documentation_service.repositories.SystemErrorLogRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Manutenção do log de erros particionado (V15, V16): consolidação por hora em
+ * system_error_log_rollup_hora, criação das partições dos próximos meses e remoção das
+ * partições fora da retenção. O custo de inserir e consultar não cresce com o histórico,
+ * porque a tabela bruta guarda só {@code error-log.retencao-meses} meses.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ManutencaoErroLogService {
+
+    private static final long CHAVE_LOCK_MANUTENCAO = 0x0D0C_0002L;
+
+    private final SystemErrorLogRepository systemErrorLogRepository;
+    private final ErroLogRollupHoraRepository rollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${error-log.retencao-meses:6}")
+    private int retencaoMeses;
+
+    @Value("${error-log.rollup-retencao-meses:24}")
+    private int rollupRetencaoMeses;
+
+    @Value("${error-log.particoes-futuras:2}")
+    private int particoesFuturas;
+
+    @Value("${error-log.reprocessar-horas:2}")
+    private int reprocessarHoras;
+
+    // =========================
+    // CONSOLIDAÇÃO POR HORA
+    // =========================
+
+    /**
+     * Consolida as horas completas desde a última consolidada. As últimas
+     * {@code error-log.reprocessar-horas} são sempre recalculadas, para incluir erros gravados
+     * depois da virada da hora (o gravador em lote grava com alguns segundos de atraso).
+     */
+    @Transactional
+    public int consolidarHoras() {
+        if (!rollupRepository.tentarLockManutencao(CHAVE_LOCK_MANUTENCAO)) return 0;
+
+        return consolidarAteAgora();
+    }
+
+    private int consolidarAteAgora() {
+        LocalDateTime ate = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime reprocessarDesde = ate.minusHours(reprocessarHoras);
+
+        LocalDateTime ultima = rollupRepository.ultimaHoraConsolidada();
+        LocalDateTime de = ultima != null && ultima.isBefore(reprocessarDesde)
+                ? ultima.plusHours(1)
+                : reprocessarDesde;
+
+        return rollupRepository.consolidar(de, ate);
+    }
+
+    // =========================
+    // PARTIÇÕES E RETENÇÃO
+    // =========================
+
+    /**
+     * Consolida, garante as partições do mês atual e dos próximos meses e remove as que terminaram
+     * antes da retenção. Cada etapa roda em uma transação curta própria, com o advisory lock:
+     * <ol>
+     *     <li>a consolidação é gravada primeiro, para que nenhuma hora saia sem rollup;</li>
+     *     <li>uma transação por partição criada (a função move para ela as linhas do mês que
+     *     tenham caído na partição padrão);</li>
+     *     <li>uma transação por partição removida, depois a limpeza da partição padrão e dos rollups.</li>
+     * </ol>
+     * O DDL segura lock exclusivo na tabela, então nenhuma etapa deixa as gravações do log esperando
+     * pelas outras. Uma etapa que falha é registrada e a próxima execução tenta de novo.
+     */
+    public void manterParticoes() {
+        Boolean consolidado = transacao().execute(st -> {
+            if (!rollupRepository.tentarLockManutencao(CHAVE_LOCK_MANUTENCAO)) return false;
+            consolidarAteAgora();
+            return true;
+        });
+        if (!Boolean.TRUE.equals(consolidado)) return;
+
+        LocalDate mesAtual = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= particoesFuturas; i++) {
+            LocalDate mes = mesAtual.plusMonths(i);
+            // Se falhar, as linhas do mês continuam na partição padrão e a criação é tentada de novo
+            etapa("criar a partição de " + mes, () -> systemErrorLogRepository.criarParticao(mes));
+        }
+
+        LocalDate limite = mesAtual.minusMonths(retencaoMeses);
+        List<String> particoes = transacao().execute(st -> systemErrorLogRepository.particoesAte(limite));
+
+        int removidas = 0;
+        for (String particao : particoes != null ? particoes : List.<String>of()) {
+            if (Boolean.TRUE.equals(etapa("remover a partição " + particao,
+                    () -> systemErrorLogRepository.removerParticao(particao)))) {
+                removidas++;
+            }
+        }
+
+        etapa("limpar a partição padrão", () -> systemErrorLogRepository.limparParticaoPadraoAte(limite));
+        Integer rollupsRemovidos = etapa("remover rollups antigos",
+                () -> rollupRepository.removerAnterioresA(mesAtual.minusMonths(rollupRetencaoMeses).atStartOfDay()));
+
+        if (removidas > 0 || (rollupsRemovidos != null && rollupsRemovidos > 0)) {
+            log.info("Retenção do log de erros: {} partição(ões) anteriores a {} removida(s), {} rollup(s) removido(s)",
+                    removidas, limite, rollupsRemovidos);
+        }
+    }
+
+    /**
+     * Executa uma etapa da manutenção em transação própria, com o advisory lock. Devolve null se
+     * outra instância estiver com o lock ou se a etapa falhar (o erro é registrado).
+     */
+    private <T> T etapa(String descricao, Supplier<T> passo) {
+        try {
+            return transacao().execute(st -> {
+                if (!rollupRepository.tentarLockManutencao(CHAVE_LOCK_MANUTENCAO)) return null;
+                return passo.get();
+            });
+        } catch (Exception e) {
+            log.error("Manutenção do log de erros: falha ao {}: {}", descricao, e.getMessage());
+            return null;
+        }
+    }
+
+    private TransactionTemplate transacao() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.client.MonolitoClient;
+import br.com.inproutservices.documentation_service.dtos.OsInfoDTO;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@RequiredArgsConstructor
+public class OsInfoFacade {
+
+    private final MonolitoClient monolitoClient;
+    private final AsyncCache<Long, OsInfoDTO> osInfoCache;
+
+    /**
+     * Busca as informações da OS no monolito, com cache por osId.
+     * Chamadas simultâneas para a mesma OS compartilham a mesma requisição em andamento:
+     * quem chega primeiro faz a chamada na própria thread (mantendo o token da requisição)
+     * e os demais apenas aguardam o resultado. Falhas e respostas vazias não ficam em cache.
+     */
+    public OsInfoDTO buscarInfoOs(Long osId) {
+        CompletableFuture<OsInfoDTO> novo = new CompletableFuture<>();
+        CompletableFuture<OsInfoDTO> atual = osInfoCache.get(osId, (id, executor) -> novo);
+
+        if (atual != novo) {
+            return aguardar(atual);
+        }
+
+        try {
+            OsInfoDTO info = monolitoClient.buscarInfoOs(osId);
+            novo.complete(info);
+            return info;
+        } catch (Throwable e) {
+            // Qualquer falha (inclusive Error) precisa liberar quem aguarda no join()
+            novo.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidar(Long osId) {
+        osInfoCache.synchronous().invalidate(osId);
+    }
+
+    private OsInfoDTO aguardar(CompletableFuture<OsInfoDTO> emAndamento) {
+        try {
+            return emAndamento.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) throw causa;
+            throw e;
+        }
+    }
+}
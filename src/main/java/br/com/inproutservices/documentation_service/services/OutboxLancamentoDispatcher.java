@@ -0,0 +1,41 @@
+package br.com.inproutservices.documentation_service.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxLancamentoDispatcher {
+
+    private final OutboxLancamentoService outboxService;
+
+    @Value("${outbox.lancamentos.habilitado:true}")
+    private boolean habilitado;
+
+    @Scheduled(fixedDelayString = "${outbox.lancamentos.intervalo-ms:2000}",
+               initialDelayString = "${outbox.lancamentos.intervalo-ms:2000}")
+    public void despachar() {
+        if (!habilitado) return;
+
+        try {
+            outboxService.despacharPendentes();
+        } catch (Exception e) {
+            log.warn("Falha ao despachar outbox de lançamentos: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${outbox.lancamentos.cron-limpeza:0 45 3 * * *}")
+    public void limpar() {
+        if (!habilitado) return;
+
+        try {
+            outboxService.removerEnviadosAntigos();
+        } catch (Exception e) {
+            log.warn("Falha ao remover registros enviados do outbox de lançamentos: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.client.MonolitoClient;
+import br.com.inproutservices.documentation_service.dtos.AtualizarLancamentosDocRequest;
+import br.com.inproutservices.documentation_service.entities.OutboxLancamentoStatus;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.enums.EstadoOutbox;
+import br.com.inproutservices.documentation_service.repositories.OutboxLancamentoStatusRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Outbox das atualizações de status de lançamentos no monolito.
+ * As transições só gravam a intenção (mesma transação da solicitação); o envio acontece
+ * em segundo plano, com novas tentativas e respeitando a ordem de gravação por lançamento.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxLancamentoService {
+
+    public static final Set<String> DOCUMENTOS_PDI = Set.of(
+            "PDI + CAD (PPI FORNECIDO)",
+            "PDI COM PPI (SEM LAYOUT)",
+            "PDI DIRETO SEM PPI (SEM LAYOUT)",
+            "PDI SEM PPI + CAD"
+    );
+
+    private static final long CHAVE_LOCK_DESPACHO = 0x0D0C_0001L;
+    private static final int TAMANHO_MAXIMO_ERRO = 2000;
+
+    private final OutboxLancamentoStatusRepository outboxRepository;
+    private final MonolitoClient monolitoClient;
+    private final LancamentosPdiFacade lancamentosPdiFacade;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${outbox.lancamentos.lote:500}")
+    private int lote;
+
+    @Value("${outbox.lancamentos.janela-agregacao:2s}")
+    private Duration janelaAgregacao;
+
+    @Value("${outbox.lancamentos.reserva:5m}")
+    private Duration reserva;
+
+    @Value("${outbox.lancamentos.tamanho-maximo-envio:500}")
+    private int tamanhoMaximoEnvio;
+
+    @Value("${outbox.lancamentos.max-tentativas:10}")
+    private int maxTentativas;
+
+    @Value("${outbox.lancamentos.backoff-inicial:5s}")
+    private Duration backoffInicial;
+
+    @Value("${outbox.lancamentos.backoff-maximo:10m}")
+    private Duration backoffMaximo;
+
+    @Value("${outbox.lancamentos.retencao-enviados:7d}")
+    private Duration retencaoEnviados;
+
+    // =========================
+    // REGISTRO (dentro da transação da solicitação)
+    // =========================
+
+    /**
+     * Registra a atualização dos lançamentos da solicitação. Para documentos PDI, a lista é
+     * expandida para todos os lançamentos da OS+Site só no envio.
+     */
+    @Transactional
+    public void registrar(SolicitacaoDocumento s, String documentacao, LocalDate planoDocumentacao, String situacao) {
+        boolean pdi = s.getDocumento() != null && DOCUMENTOS_PDI.contains(s.getDocumento().getNome());
+        Set<Long> ids = s.getLancamentoIds() != null ? s.getLancamentoIds() : Set.of();
+
+        if (ids.isEmpty() && !pdi) return;
+
+        salvar(s, ids, pdi, documentacao, planoDocumentacao, situacao);
+    }
+
+    // Itens removidos da solicitação: limpa os campos de documentação no monolito
+    @Transactional
+    public void registrarLiberacao(SolicitacaoDocumento s, Set<Long> lancamentoIds) {
+        if (lancamentoIds == null || lancamentoIds.isEmpty()) return;
+
+        salvar(s, lancamentoIds, false, null, null, null);
+    }
+
+    private void salvar(SolicitacaoDocumento s, Set<Long> ids, boolean pdi,
+                        String documentacao, LocalDate planoDocumentacao, String situacao) {
+        OutboxLancamentoStatus o = new OutboxLancamentoStatus();
+        o.setSolicitacaoId(s.getId());
+        o.setOsId(s.getOsId());
+        o.setSite(s.getSite() != null ? s.getSite() : "");
+        o.setExpandirPdi(pdi);
+        o.setLancamentoIds(ids.stream().filter(Objects::nonNull).sorted().toArray(Long[]::new));
+        o.setDocumentacao(documentacao);
+        o.setPlanoDocumentacao(planoDocumentacao);
+        o.setSituacao(situacao);
+        o.setEstado(EstadoOutbox.PENDENTE);
+
+        outboxRepository.save(o);
+    }
+
+    // =========================
+    // DESPACHO
+    // =========================
+
+    /**
+     * Envia os registros pendentes agregando por lançamento, em três passos:
+     * <ol>
+     *     <li>reserva (transação curta, sob o advisory lock): lê só os registros prontos e os anteriores
+     *     que os bloqueiam, e reserva os que podem ir adiando {@code proxima_tentativa_em} por
+     *     {@code reserva};</li>
+     *     <li>envio, sem transação nem lock: expansão PDI e chamadas ao monolito;</li>
+     *     <li>conclusão (transação curta): fecha, reagenda ou devolve cada registro reservado.</li>
+     * </ol>
+     * Só entram registros gravados há mais de {@code janela-agregacao}, para que uma rajada de
+     * criações/edições no mesmo site vire um único envio. Cada lançamento vai com o último estado
+     * registrado para ele, e os lançamentos com o mesmo estado seguem juntos em chamadas de até
+     * {@code tamanho-maximo-envio} ids.
+     * <p>
+     * Ordem: um registro espera apenas se um registro anterior que ainda não pode ser enviado (fora da
+     * janela, aguardando nova tentativa, reservado por outro despacho ou em FALHA) compartilha com ele um
+     * lançamento, ou a OS+Site quando um dos dois é PDI. Registros sem chave em comum com os bloqueados
+     * seguem normalmente. Um registro em FALHA segura os seguintes até ser reprocessado, então o
+     * reprocessamento nunca entrega um estado já superado por outro registro.
+     * Se só parte dos lançamentos de um registro for entregue, o registro passa a guardar apenas os que
+     * faltam. A entrega é "pelo menos uma vez": a atualização de status é idempotente, e uma reserva
+     * abandonada (queda da instância no meio do envio) volta a valer quando vence.
+     */
+    public int despacharPendentes() {
+        List<OutboxLancamentoStatus> reservados = transacao().execute(st -> reservar());
+        if (reservados == null || reservados.isEmpty()) return 0;
+
+        Map<Long, Desfecho> desfechos = enviar(reservados);
+
+        Integer concluidos = transacao().execute(st -> concluir(desfechos));
+        return concluidos != null ? concluidos : 0;
+    }
+
+    // =========================
+    // 1) RESERVA
+    // =========================
+
+    private List<OutboxLancamentoStatus> reservar() {
+        if (!outboxRepository.tentarLockDespacho(CHAVE_LOCK_DESPACHO)) return List.of();
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime limiteJanela = agora.minus(janelaAgregacao);
+
+        Bloqueios bloqueios = new Bloqueios();
+        List<OutboxLancamentoStatus> reservados = new ArrayList<>();
+
+        // Em ordem de gravação: os não prontos só entram para bloquear as chaves deles
+        for (OutboxLancamentoStatus o : outboxRepository.buscarParaDespacho(agora, limiteJanela, lote)) {
+            boolean pronto = o.getEstado() == EstadoOutbox.PENDENTE
+                    && !o.getProximaTentativaEm().isAfter(agora)
+                    && !o.getCriadoEm().isAfter(limiteJanela);
+
+            if (!pronto || bloqueios.bloqueia(o)) {
+                bloqueios.adicionar(o);
+                continue;
+            }
+
+            o.setProximaTentativaEm(agora.plus(reserva));
+            reservados.add(o);
+        }
+        return reservados;
+    }
+
+    // =========================
+    // 2) ENVIO (sem transação)
+    // =========================
+
+    private Map<Long, Desfecho> enviar(List<OutboxLancamentoStatus> reservados) {
+        Map<Long, Desfecho> desfechos = new HashMap<>();
+        Bloqueios bloqueios = new Bloqueios();
+        Map<String, Set<Long>> lancamentosPorSite = new HashMap<>();
+        List<Elegivel> elegiveis = new ArrayList<>();
+
+        // Resolve a expansão PDI (uma vez por OS+Site); um registro que falha aqui segura os seguintes
+        for (OutboxLancamentoStatus o : reservados) {
+            if (bloqueios.bloqueia(o)) {
+                bloqueios.adicionar(o);
+                desfechos.put(o.getId(), Desfecho.devolver());
+                continue;
+            }
+
+            try {
+                Set<Long> ids = resolverLancamentoIds(o, lancamentosPorSite);
+                if (ids.isEmpty()) {
+                    // Nada a enviar (ex.: PDI sem lançamentos)
+                    desfechos.put(o.getId(), Desfecho.enviado());
+                } else {
+                    elegiveis.add(new Elegivel(o, ids));
+                }
+            } catch (Exception e) {
+                desfechos.put(o.getId(), Desfecho.falha(null, e));
+                bloqueios.adicionar(o);
+            }
+        }
+        if (elegiveis.isEmpty()) return desfechos;
+
+        // Último estado por lançamento (a lista está em ordem de gravação)
+        Map<Long, EstadoLancamento> estadoFinal = new LinkedHashMap<>();
+        for (Elegivel e : elegiveis) {
+            OutboxLancamentoStatus o = e.registro();
+            EstadoLancamento estado = new EstadoLancamento(o.getDocumentacao(), o.getPlanoDocumentacao(), o.getSituacao());
+            for (Long id : e.ids()) {
+                estadoFinal.remove(id);
+                estadoFinal.put(id, estado);
+            }
+        }
+
+        Map<EstadoLancamento, List<Long>> porEstado = new LinkedHashMap<>();
+        estadoFinal.forEach((id, estado) -> porEstado.computeIfAbsent(estado, k -> new ArrayList<>()).add(id));
+
+        // Poucas chamadas grandes, limitadas pelo tamanho máximo
+        Set<Long> entregues = new HashSet<>();
+        Map<Long, Exception> falhas = new HashMap<>();
+        int chamadas = 0;
+
+        for (Map.Entry<EstadoLancamento, List<Long>> entry : porEstado.entrySet()) {
+            EstadoLancamento estado = entry.getKey();
+            List<Long> ids = entry.getValue();
+
+            for (int inicio = 0; inicio < ids.size(); inicio += tamanhoMaximoEnvio) {
+                List<Long> bloco = ids.subList(inicio, Math.min(inicio + tamanhoMaximoEnvio, ids.size()));
+                chamadas++;
+                try {
+                    monolitoClient.atualizarStatusLancamentos(new AtualizarLancamentosDocRequest(
+                            new LinkedHashSet<>(bloco), estado.documentacao(), estado.planoDocumentacao(), estado.situacao()));
+                    entregues.addAll(bloco);
+                } catch (Exception e) {
+                    bloco.forEach(id -> falhas.put(id, e));
+                }
+            }
+        }
+        meterRegistry.counter("outbox.lancamentos.chamadas").increment(chamadas);
+
+        for (Elegivel e : elegiveis) {
+            Set<Long> faltando = new LinkedHashSet<>(e.ids());
+            faltando.removeAll(entregues);
+
+            desfechos.put(e.registro().getId(), faltando.isEmpty()
+                    ? Desfecho.enviado()
+                    : Desfecho.falha(faltando, falhas.get(faltando.iterator().next())));
+        }
+        return desfechos;
+    }
+
+    // =========================
+    // 3) CONCLUSÃO
+    // =========================
+
+    private int concluir(Map<Long, Desfecho> desfechos) {
+        int concluidos = 0;
+        for (OutboxLancamentoStatus o : outboxRepository.findAllById(desfechos.keySet())) {
+            // Alterado por fora durante o envio (não deveria acontecer com a reserva): não mexe
+            if (o.getEstado() != EstadoOutbox.PENDENTE) continue;
+
+            Desfecho desfecho = desfechos.get(o.getId());
+            if (desfecho.devolvido()) {
+                // Não foi tentado: volta para a fila sem contar tentativa
+                o.setProximaTentativaEm(LocalDateTime.now());
+            } else if (desfecho.erro() == null) {
+                marcarEnviado(o);
+                concluidos++;
+            } else {
+                if (desfecho.faltando() != null) {
+                    o.setExpandirPdi(false);
+                    o.setLancamentoIds(desfecho.faltando().stream().sorted().toArray(Long[]::new));
+                }
+                registrarFalha(o, desfecho.erro());
+            }
+        }
+
+        meterRegistry.counter("outbox.lancamentos.registros").increment(concluidos);
+        return concluidos;
+    }
+
+    /**
+     * Devolve para a fila um registro que esgotou as tentativas. Enquanto estava em FALHA ele segurou
+     * os registros seguintes dos mesmos lançamentos, então volta na frente deles e o estado final
+     * entregue continua sendo o do registro mais recente.
+     */
+    @Transactional
+    public void reprocessar(Long id) {
+        OutboxLancamentoStatus o = outboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Registro de outbox não encontrado."));
+
+        if (o.getEstado() != EstadoOutbox.FALHA) {
+            throw new RuntimeException("Apenas registros com FALHA podem ser reprocessados.");
+        }
+
+        o.setEstado(EstadoOutbox.PENDENTE);
+        o.setTentativas(0);
+        o.setProximaTentativaEm(LocalDateTime.now());
+    }
+
+    // =========================
+    // RETENÇÃO
+    // =========================
+
+    /**
+     * Apaga os registros ENVIADO há mais de {@code retencao-enviados}, em lotes de {@code lote}
+     * (uma transação curta por lote). Registros PENDENTE e FALHA nunca são apagados.
+     */
+    public int removerEnviadosAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencaoEnviados);
+        int total = 0;
+        Integer removidos;
+        do {
+            removidos = transacao().execute(st -> outboxRepository.removerEnviadosAnteriores(limite, lote));
+            total += removidos != null ? removidos : 0;
+        } while (removidos != null && removidos >= lote);
+
+        if (total > 0) {
+            log.info("Retenção do outbox de lançamentos: {} registro(s) enviados antes de {} removido(s)", total, limite);
+        }
+        return total;
+    }
+
+    public Map<EstadoOutbox, Long> resumo() {
+        Map<EstadoOutbox, Long> resumo = new EnumMap<>(EstadoOutbox.class);
+        for (EstadoOutbox estado : EstadoOutbox.values()) {
+            resumo.put(estado, outboxRepository.countByEstado(estado));
+        }
+        return resumo;
+    }
+
+    /**
+     * Para documentos PDI, expande para TODOS os lançamentos aprovados da OS+Site.
+     * Se o monolito não devolver nenhum, usa os lançamentos salvos na solicitação.
+     */
+    private Set<Long> resolverLancamentoIds(OutboxLancamentoStatus o, Map<String, Set<Long>> lancamentosPorSite) {
+        Set<Long> salvos = new LinkedHashSet<>(Arrays.asList(o.getLancamentoIds()));
+        if (!o.isExpandirPdi()) return salvos;
+
+        Set<Long> todosDoSite = lancamentosPorSite.computeIfAbsent(o.getOsId() + "|" + o.getSite(),
+                k -> lancamentosPdiFacade.buscar(o.getOsId(), o.getSite()));
+        return todosDoSite != null && !todosDoSite.isEmpty() ? todosDoSite : salvos;
+    }
+
+    private void marcarEnviado(OutboxLancamentoStatus o) {
+        o.setEstado(EstadoOutbox.ENVIADO);
+        o.setEnviadoEm(LocalDateTime.now());
+        o.setUltimoErro(null);
+    }
+
+    private void registrarFalha(OutboxLancamentoStatus o, Exception e) {
+        int tentativas = o.getTentativas() + 1;
+        o.setTentativas(tentativas);
+
+        String erro = e.getClass().getSimpleName() + ": " + e.getMessage();
+        o.setUltimoErro(erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+
+        if (tentativas >= maxTentativas) {
+            o.setEstado(EstadoOutbox.FALHA);
+            log.error("Outbox {} (solicitação {}) desistiu após {} tentativas: {}", o.getId(), o.getSolicitacaoId(), tentativas, erro);
+            return;
+        }
+
+        // Backoff exponencial: inicial, 2x, 4x... até o máximo
+        Duration espera = backoffInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        if (espera.compareTo(backoffMaximo) > 0) espera = backoffMaximo;
+        o.setProximaTentativaEm(LocalDateTime.now().plus(espera));
+
+        log.warn("Outbox {} (solicitação {}) falhou na tentativa {}; nova tentativa em {}: {}",
+                o.getId(), o.getSolicitacaoId(), tentativas, espera, erro);
+    }
+
+    private TransactionTemplate transacao() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private record Elegivel(OutboxLancamentoStatus registro, Set<Long> ids) {
+    }
+
+    /**
+     * Resultado do envio de um registro reservado. {@code faltando} nulo em uma falha mantém os
+     * lançamentos do registro (a falha foi antes do envio, na expansão PDI).
+     */
+    private record Desfecho(boolean devolvido, Set<Long> faltando, Exception erro) {
+
+        static Desfecho enviado() {
+            return new Desfecho(false, null, null);
+        }
+
+        static Desfecho devolver() {
+            return new Desfecho(true, null, null);
+        }
+
+        static Desfecho falha(Set<Long> faltando, Exception erro) {
+            return new Desfecho(false, faltando, erro);
+        }
+    }
+
+    private record EstadoLancamento(String documentacao, LocalDate planoDocumentacao, String situacao) {
+    }
+
+    /**
+     * Chaves de ordem dos registros que ainda não podem ir: lançamentos, e OS+Site (que, para um
+     * registro PDI, representa todos os lançamentos do site, inclusive os que só aparecem na expansão).
+     */
+    private static final class Bloqueios {
+        private final Set<Long> lancamentos = new HashSet<>();
+        private final Set<String> sites = new HashSet<>();
+        private final Set<String> sitesPdi = new HashSet<>();
+
+        boolean bloqueia(OutboxLancamentoStatus o) {
+            String site = site(o);
+            if (sitesPdi.contains(site) || (o.isExpandirPdi() && sites.contains(site))) return true;
+            for (Long id : o.getLancamentoIds()) {
+                if (lancamentos.contains(id)) return true;
+            }
+            return false;
+        }
+
+        void adicionar(OutboxLancamentoStatus o) {
+            lancamentos.addAll(Arrays.asList(o.getLancamentoIds()));
+            sites.add(site(o));
+            if (o.isExpandirPdi()) sitesPdi.add(site(o));
+        }
+
+        private static String site(OutboxLancamentoStatus o) {
+            return o.getOsId() + "|" + o.getSite();
+        }
+    }
+}
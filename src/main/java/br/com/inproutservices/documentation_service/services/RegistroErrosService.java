@@ -0,0 +1,234 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.entities.SystemErrorLog;
+import br.com.inproutservices.documentation_service.repositories.SystemErrorLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registro assíncrono do log de erros (system_error_log).
+ * <p>
+ * A thread da requisição só calcula o fingerprint do erro (tipo + template da URI + topo da
+ * pilha) e soma a ocorrência em um mapa em memória; nunca espera o banco. Ocorrências do mesmo
+ * fingerprint viram um contador na mesma entrada, então uma rajada do mesmo erro ocupa uma
+ * posição só e a pilha é renderizada uma vez. O mapa é limitado em {@code error-log.capacidade}
+ * fingerprints distintos: acima de {@code error-log.limiar-amostragem} só uma fração dos erros
+ * novos entra ({@code error-log.taxa-amostragem}) e, cheio, os novos são descartados e contados.
+ * <p>
+ * A cada {@code error-log.intervalo-ms} o gravador esvazia o mapa e grava uma linha por
+ * fingerprint em um único saveAll (batch JDBC via sequência pooled).
+ */
+@Slf4j
+@Service
+public class RegistroErrosService {
+
+    private static final int TAMANHO_MAXIMO_MENSAGEM = 2000;
+    private static final int TAMANHO_MAXIMO_DETALHES = 5000;
+
+    private final SystemErrorLogRepository systemErrorLogRepository;
+    private final ConcurrentHashMap<String, ErroAgrupado> pendentes = new ConcurrentHashMap<>();
+    private final Counter descartados;
+    private final Counter naoAmostrados;
+
+    @Value("${error-log.capacidade:1000}")
+    private int capacidade;
+
+    @Value("${error-log.limiar-amostragem:500}")
+    private int limiarAmostragem;
+
+    @Value("${error-log.taxa-amostragem:0.1}")
+    private double taxaAmostragem;
+
+    @Value("${error-log.frames-fingerprint:5}")
+    private int framesFingerprint;
+
+    public RegistroErrosService(SystemErrorLogRepository systemErrorLogRepository, MeterRegistry meterRegistry) {
+        this.systemErrorLogRepository = systemErrorLogRepository;
+        this.descartados = meterRegistry.counter("erros.registro.descartados", "motivo", "fila_cheia");
+        this.naoAmostrados = meterRegistry.counter("erros.registro.descartados", "motivo", "amostragem");
+        meterRegistry.gaugeMapSize("erros.registro.pendentes", List.of(), pendentes);
+    }
+
+    /** Erro pendente de gravação; mutado apenas dentro das operações atômicas do mapa. */
+    private static final class ErroAgrupado {
+        private final SystemErrorLog log;
+        private int ocorrencias = 1;
+        private LocalDateTime ultimaOcorrencia;
+
+        private ErroAgrupado(SystemErrorLog log) {
+            this.log = log;
+            this.ultimaOcorrencia = log.getDataHora();
+        }
+
+        private ErroAgrupado somar(int quantidade, LocalDateTime quando) {
+            ocorrencias += quantidade;
+            if (quando.isAfter(ultimaOcorrencia)) ultimaOcorrencia = quando;
+            return this;
+        }
+    }
+
+    // =========================
+    // REGISTRO (thread da requisição)
+    // =========================
+
+    /**
+     * Enfileira o erro sem bloquear. Os dados da requisição e do usuário são lidos aqui,
+     * enquanto ainda estão disponíveis; a pilha só é renderizada para fingerprints novos.
+     */
+    public void registrar(HttpServletRequest request, int statusCode, String erroTipo, String mensagem, Throwable erro) {
+        try {
+            LocalDateTime agora = LocalDateTime.now();
+            String uriTemplate = uriTemplate(request);
+            String fingerprint = fingerprint(statusCode, erroTipo, uriTemplate, erro);
+
+            if (pendentes.computeIfPresent(fingerprint, (k, agrupado) -> agrupado.somar(1, agora)) != null) {
+                return;
+            }
+
+            int tamanho = pendentes.size();
+            if (tamanho >= capacidade) {
+                descartados.increment();
+                return;
+            }
+            if (tamanho >= limiarAmostragem && ThreadLocalRandom.current().nextDouble() >= taxaAmostragem) {
+                naoAmostrados.increment();
+                return;
+            }
+
+            SystemErrorLog novo = montarLog(request, uriTemplate, statusCode, erroTipo, mensagem, erro, fingerprint, agora);
+            // Outra thread pode ter criado a entrada no meio do caminho: soma nela
+            pendentes.merge(fingerprint, new ErroAgrupado(novo),
+                    (existente, ignorado) -> existente.somar(1, agora));
+        } catch (Exception e) {
+            log.warn("Falha ao registrar erro no log: {}", e.getMessage());
+        }
+    }
+
+    private SystemErrorLog montarLog(HttpServletRequest request, String uriTemplate, int statusCode, String erroTipo,
+                                     String mensagem, Throwable erro, String fingerprint, LocalDateTime agora) {
+        SystemErrorLog errorLog = new SystemErrorLog();
+        errorLog.setStatusCode(statusCode);
+        errorLog.setMetodoHttp(request != null ? request.getMethod() : null);
+        errorLog.setUri(request != null ? request.getRequestURI() : null);
+        errorLog.setUriTemplate(uriTemplate);
+        errorLog.setErroTipo(erroTipo);
+        errorLog.setMensagem(truncar(mensagem, TAMANHO_MAXIMO_MENSAGEM));
+        errorLog.setDetalhes(erro != null ? truncar(pilha(erro), TAMANHO_MAXIMO_DETALHES) : null);
+        errorLog.setFingerprint(fingerprint);
+        errorLog.setDataHora(agora);
+
+        if (request != null) {
+            String xForwardedFor = request.getHeader("X-Forwarded-For");
+            errorLog.setIpAddress(xForwardedFor != null && !xForwardedFor.isBlank()
+                    ? xForwardedFor.split(",")[0].trim()
+                    : request.getRemoteAddr());
+        }
+
+        try {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof String email) {
+                errorLog.setUsuarioEmail(email);
+            }
+        } catch (Exception ignored) {}
+
+        return errorLog;
+    }
+
+    // =========================
+    // GRAVAÇÃO EM LOTE
+    // =========================
+
+    @Scheduled(fixedDelayString = "${error-log.intervalo-ms:1000}",
+               initialDelayString = "${error-log.intervalo-ms:1000}")
+    public void gravarPendentes() {
+        if (pendentes.isEmpty()) return;
+
+        List<SystemErrorLog> lote = new ArrayList<>(pendentes.size());
+        for (String fingerprint : pendentes.keySet()) {
+            // Depois de removida, a entrada não recebe mais ocorrências: a próxima cria outra
+            ErroAgrupado agrupado = pendentes.remove(fingerprint);
+            if (agrupado == null) continue;
+
+            SystemErrorLog errorLog = agrupado.log;
+            errorLog.setOcorrencias(agrupado.ocorrencias);
+            errorLog.setUltimaOcorrencia(agrupado.ultimaOcorrencia);
+            lote.add(errorLog);
+        }
+        if (lote.isEmpty()) return;
+
+        try {
+            systemErrorLogRepository.saveAll(lote);
+        } catch (Exception e) {
+            // Sem nova tentativa: reenfileirar durante uma falha do banco só aumentaria a carga
+            log.warn("Falha ao gravar {} erro(s) no log: {}", lote.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void gravarAntesDeEncerrar() {
+        gravarPendentes();
+    }
+
+    // =========================
+    // HELPERS
+    // =========================
+
+    /** Template da rota (ex.: /solicitacoes/{id}) para que ids diferentes caiam no mesmo fingerprint. */
+    private String uriTemplate(HttpServletRequest request) {
+        if (request == null) return null;
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? padrao.toString() : request.getRequestURI();
+    }
+
+    private String fingerprint(int statusCode, String erroTipo, String uriTemplate, Throwable erro)
+            throws NoSuchAlgorithmException {
+        StringBuilder base = new StringBuilder()
+                .append(statusCode).append('|')
+                .append(erroTipo).append('|')
+                .append(uriTemplate);
+
+        if (erro != null) {
+            base.append('|').append(erro.getClass().getName());
+            StackTraceElement[] frames = erro.getStackTrace();
+            for (int i = 0; i < Math.min(framesFingerprint, frames.length); i++) {
+                base.append('|').append(frames[i].getClassName())
+                        .append('.').append(frames[i].getMethodName())
+                        .append(':').append(frames[i].getLineNumber());
+            }
+        }
+
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(base.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash);
+    }
+
+    private String pilha(Throwable erro) {
+        StringWriter sw = new StringWriter();
+        erro.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+
+    private String truncar(String texto, int tamanhoMaximo) {
+        return texto != null && texto.length() > tamanhoMaximo ? texto.substring(0, tamanhoMaximo) : texto;
+    }
+}
@@ -0,0 +1,273 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.dtos.OsInfoDTO;
+import br.com.inproutservices.documentation_service.dtos.projections.SolicitacaoOsProjection;
+import br.com.inproutservices.documentation_service.dtos.responses.SincronizacaoOsResponse;
+import br.com.inproutservices.documentation_service.entities.SincronizacaoOsJob;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.enums.EstadoSincronizacao;
+import br.com.inproutservices.documentation_service.repositories.SincronizacaoOsJobRepository;
+import br.com.inproutservices.documentation_service.repositories.SolicitacaoDocumentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sincronização retroativa de OS/projeto/segmento das solicitações com o monolito, em segundo plano.
+ * <p>
+ * Percorre só as solicitações que precisam de ajuste, em blocos por id. Cada bloco busca no monolito
+ * cada OS distinta uma única vez, em paralelo e com limite de concorrência (ChamadasRemotasParalelas),
+ * fora de transação; depois grava o bloco e o checkpoint do job na mesma transação. Assim a memória
+ * fica limitada a um bloco, e após um restart o job continua do último bloco gravado: a instância que
+ * executa mantém uma reserva renovada a cada bloco e, se ela cair, a verificação periódica retoma o
+ * job quando a reserva vence.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SincronizacaoOsService {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 2000;
+
+    private final SincronizacaoOsJobRepository jobRepository;
+    private final SolicitacaoDocumentoRepository solicitacaoRepository;
+    private final SolicitacaoListagemService listagemService;
+    private final OsInfoFacade osInfoFacade;
+    private final ChamadasRemotasParalelas chamadasRemotas;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    @Value("${sincronizacao-os.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Value("${sincronizacao-os.prazo-bloco:2m}")
+    private Duration prazoBloco;
+
+    @Value("${sincronizacao-os.reserva:5m}")
+    private Duration reserva;
+
+    // =========================
+    // API
+    // =========================
+
+    /**
+     * Inicia uma sincronização, ou retoma a que estiver em andamento (ou a última que falhou,
+     * a partir do checkpoint dela). Retorna na hora; o progresso sai em {@link #status(Long)}.
+     */
+    public SincronizacaoOsResponse iniciar() {
+        SincronizacaoOsJob job;
+        try {
+            job = transacao().execute(st -> jobRepository.findFirstByEstadoOrderByIdAsc(EstadoSincronizacao.EM_ANDAMENTO)
+                    .orElseGet(this::retomarFalhaOuCriar));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou o job ao mesmo tempo
+            job = jobRepository.findFirstByEstadoOrderByIdAsc(EstadoSincronizacao.EM_ANDAMENTO)
+                    .orElseThrow(() -> new RuntimeException("Não foi possível iniciar a sincronização."));
+        }
+
+        disparar(job.getId());
+        return toResponse(job);
+    }
+
+    public SincronizacaoOsResponse status(Long jobId) {
+        SincronizacaoOsJob job = (jobId != null ? jobRepository.findById(jobId) : jobRepository.findFirstByOrderByIdDesc())
+                .orElseThrow(() -> new RuntimeException("Sincronização não encontrada."));
+        return toResponse(job);
+    }
+
+    // Retoma jobs em andamento sem instância executando (restart ou queda de quem executava)
+    @Scheduled(fixedDelayString = "${sincronizacao-os.verificar-intervalo-ms:60000}",
+               initialDelayString = "${sincronizacao-os.verificar-intervalo-ms:60000}")
+    public void retomarPendente() {
+        try {
+            jobRepository.findFirstByEstadoOrderByIdAsc(EstadoSincronizacao.EM_ANDAMENTO)
+                    .ifPresent(job -> disparar(job.getId()));
+        } catch (Exception e) {
+            log.warn("Falha ao verificar sincronização de OS pendente: {}", e.getMessage());
+        }
+    }
+
+    // =========================
+    // EXECUÇÃO
+    // =========================
+
+    private SincronizacaoOsJob retomarFalhaOuCriar() {
+        SincronizacaoOsJob ultimo = jobRepository.findFirstByOrderByIdDesc().orElse(null);
+        if (ultimo != null && ultimo.getEstado() == EstadoSincronizacao.FALHA) {
+            ultimo.setEstado(EstadoSincronizacao.EM_ANDAMENTO);
+            ultimo.setReservadoAte(null);
+            ultimo.setAtualizadoEm(LocalDateTime.now());
+            return ultimo;
+        }
+
+        SincronizacaoOsJob novo = new SincronizacaoOsJob();
+        novo.setTotalEstimado(solicitacaoRepository.contarPendentesSincronizacaoOs());
+        return jobRepository.saveAndFlush(novo);
+    }
+
+    private void disparar(Long jobId) {
+        if (!emExecucao.compareAndSet(false, true)) return;
+
+        Thread.ofPlatform().name("sincronizacao-os-" + jobId).daemon(true).start(() -> {
+            try {
+                executar(jobId);
+            } catch (Exception e) {
+                log.error("Sincronização de OS {} interrompida: {}", jobId, e.getMessage());
+                registrarFalha(jobId, e);
+            } finally {
+                emExecucao.set(false);
+            }
+        });
+    }
+
+    private void executar(Long jobId) {
+        if (!reservar(jobId)) return;
+
+        while (true) {
+            SincronizacaoOsJob job = jobRepository.findById(jobId).orElse(null);
+            if (job == null || job.getEstado() != EstadoSincronizacao.EM_ANDAMENTO) return;
+
+            List<SolicitacaoOsProjection> bloco = solicitacaoRepository.buscarPendentesSincronizacaoOs(
+                    job.getUltimoIdProcessado(), PageRequest.of(0, tamanhoBloco));
+
+            if (bloco.isEmpty()) {
+                transacao().executeWithoutResult(st -> concluir(jobId));
+                log.info("Sincronização de OS {} concluída.", jobId);
+                return;
+            }
+
+            // Uma chamada por OS distinta do bloco, em paralelo, fora da transação
+            Set<Long> osIds = new LinkedHashSet<>();
+            bloco.stream().map(SolicitacaoOsProjection::osId).filter(Objects::nonNull).forEach(osIds::add);
+            ChamadasRemotasParalelas.Resultados<Long, OsInfoDTO> infos = chamadasRemotas.buscarTodos(
+                    osIds, osInfoFacade::buscarInfoOs, "buscar as informações das OSs no monolito", prazoBloco);
+
+            transacao().executeWithoutResult(st -> aplicarBloco(jobId, bloco, osIds.size(), infos));
+        }
+    }
+
+    private void aplicarBloco(Long jobId, List<SolicitacaoOsProjection> bloco, int osConsultadas,
+                              ChamadasRemotasParalelas.Resultados<Long, OsInfoDTO> infos) {
+        SincronizacaoOsJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Sincronização não encontrada."));
+
+        List<SolicitacaoDocumento> solicitacoes = solicitacaoRepository.findAllById(
+                bloco.stream().map(SolicitacaoOsProjection::id).toList());
+
+        List<SolicitacaoDocumento> alteradas = new ArrayList<>();
+        int falhas = 0;
+        String primeiroErro = null;
+
+        for (SolicitacaoDocumento s : solicitacoes) {
+            boolean alterada = false;
+
+            OsInfoDTO osInfo = infos.valores().get(s.getOsId());
+            if (osInfo != null) {
+                s.setOs(osInfo.os());
+                s.setProjeto(osInfo.projeto());
+                s.setSegmentoNome(osInfo.segmentoNome());
+                alterada = true;
+            } else {
+                falhas++;
+                if (primeiroErro == null) {
+                    primeiroErro = "OS " + s.getOsId() + ": " + infos.falhas().getOrDefault(s.getOsId(), "sem informações no monolito");
+                }
+            }
+
+            // Sempre normaliza site NULL → ""
+            if (s.getSite() == null) {
+                s.setSite("");
+                alterada = true;
+            }
+
+            if (alterada) alteradas.add(s);
+        }
+
+        if (!alteradas.isEmpty()) {
+            solicitacaoRepository.saveAll(alteradas);
+            listagemService.sincronizarTodos(alteradas);
+        }
+
+        // Checkpoint na mesma transação do bloco
+        LocalDateTime agora = LocalDateTime.now();
+        job.setUltimoIdProcessado(bloco.get(bloco.size() - 1).id());
+        job.setProcessadas(job.getProcessadas() + bloco.size());
+        job.setAtualizadas(job.getAtualizadas() + alteradas.size());
+        job.setFalhas(job.getFalhas() + falhas);
+        job.setOsConsultadas(job.getOsConsultadas() + osConsultadas);
+        if (primeiroErro != null) job.setUltimoErro(truncar(primeiroErro));
+        job.setAtualizadoEm(agora);
+        job.setReservadoAte(agora.plus(reserva));
+    }
+
+    private void concluir(Long jobId) {
+        jobRepository.findById(jobId).ifPresent(job -> {
+            LocalDateTime agora = LocalDateTime.now();
+            job.setEstado(EstadoSincronizacao.CONCLUIDO);
+            job.setConcluidoEm(agora);
+            job.setAtualizadoEm(agora);
+            job.setReservadoAte(null);
+        });
+    }
+
+    private boolean reservar(Long jobId) {
+        LocalDateTime agora = LocalDateTime.now();
+        Integer reservados = transacao().execute(st ->
+                jobRepository.reservar(jobId, EstadoSincronizacao.EM_ANDAMENTO, agora, agora.plus(reserva)));
+        return reservados != null && reservados > 0;
+    }
+
+    private void registrarFalha(Long jobId, Exception e) {
+        try {
+            transacao().executeWithoutResult(st -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setEstado(EstadoSincronizacao.FALHA);
+                job.setUltimoErro(truncar(e.getClass().getSimpleName() + ": " + e.getMessage()));
+                job.setAtualizadoEm(LocalDateTime.now());
+                job.setReservadoAte(null);
+            }));
+        } catch (Exception ignored) {
+            // Sem banco: o job continua EM_ANDAMENTO e é retomado quando a reserva vencer
+        }
+    }
+
+    private TransactionTemplate transacao() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private String truncar(String erro) {
+        return erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+    }
+
+    private SincronizacaoOsResponse toResponse(SincronizacaoOsJob job) {
+        return new SincronizacaoOsResponse(
+                job.getId(),
+                job.getEstado(),
+                job.getTotalEstimado(),
+                job.getProcessadas(),
+                job.getAtualizadas(),
+                job.getFalhas(),
+                job.getOsConsultadas(),
+                job.getUltimoIdProcessado(),
+                job.getUltimoErro(),
+                job.getIniciadoEm(),
+                job.getAtualizadoEm(),
+                job.getConcluidoEm()
+        );
+    }
+}
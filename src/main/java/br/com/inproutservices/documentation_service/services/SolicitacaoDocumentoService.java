@@ -1,23 +1,33 @@
 package br.com.inproutservices.documentation_service.services;
 
-import br.com.inproutservices.documentation_service.client.MonolitoClient;
 import br.com.inproutservices.documentation_service.dtos.*;
+import br.com.inproutservices.documentation_service.dtos.projections.ChaveSolicitacaoProjection;
+import br.com.inproutservices.documentation_service.dtos.projections.CustoOsProjection;
+import br.com.inproutservices.documentation_service.dtos.projections.TotalPorStatusProjection;
+import br.com.inproutservices.documentation_service.dtos.responses.ResultadoItemLoteResponse;
+import br.com.inproutservices.documentation_service.dtos.responses.ResultadoLoteResponse;
+import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoCursorResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoEventoResponse;
 import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoListResponse;
 import br.com.inproutservices.documentation_service.entities.Documento;
-import br.com.inproutservices.documentation_service.entities.DocumentoPrecificacao;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
 import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumentoEvento;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoListagem;
 import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
 import br.com.inproutservices.documentation_service.enums.TipoEventoSolicitacao;
 import br.com.inproutservices.documentation_service.mappers.SolicitacaoMapper;
 import br.com.inproutservices.documentation_service.repositories.DocumentoRepository;
 import br.com.inproutservices.documentation_service.repositories.SolicitacaoDocumentoEventoRepository;
 import br.com.inproutservices.documentation_service.repositories.SolicitacaoDocumentoRepository;
+import br.com.inproutservices.documentation_service.repositories.SolicitacaoListagemRepository;
+import br.com.inproutservices.documentation_service.repositories.SolicitacaoListagemSpecifications;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -25,9 +35,18 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -36,32 +55,24 @@ public class SolicitacaoDocumentoService {
     private final SolicitacaoDocumentoRepository solicitacaoRepository;
     private final SolicitacaoDocumentoEventoRepository eventoRepository;
     private final DocumentoRepository documentoRepository;
-    private final MonolitoClient monolitoClient;
     private final UsuarioFacade usuarioFacade;
+    private final OsInfoFacade osInfoFacade;
+    private final SolicitacaoListagemService listagemService;
+    private final SolicitacaoListagemRepository listagemRepository;
+    private final OutboxLancamentoService outboxService;
     private final DescontoService descontoService;
+    private final ChamadasRemotasParalelas chamadasRemotas;
 
-    private static final java.util.Set<String> DOCUMENTOS_PDI = java.util.Set.of(
-            "PDI + CAD (PPI FORNECIDO)",
-            "PDI COM PPI (SEM LAYOUT)",
-            "PDI DIRETO SEM PPI (SEM LAYOUT)",
-            "PDI SEM PPI + CAD"
-    );
-
-    // =========================
-    // ENRIQUECIMENTO (FRONTEND)
-    // =========================
-    public SolicitacaoListResponse mapearParaResponse(SolicitacaoDocumento s) {
-        String docNome = "Sem Responsável";
-        String solNome = s.getSolicitanteNome() != null ? s.getSolicitanteNome() : "Sistema";
+    private static final int TAMANHO_MAXIMO_CURSOR = 200;
+    private static final Sort ORDEM_CURSOR = Sort.by(Sort.Direction.DESC, "criadoEm", "id");
+    private static final int TAMANHO_BLOCO_CUSTOS = 1000;
+    private static final int TAMANHO_MAXIMO_HISTORICOS = 200;
+    private static final int TAMANHO_MAXIMO_LOTE = 1000;
 
-        if (s.getDocumentistaId() != null) {
-            try {
-                UsuarioDTO doc = usuarioFacade.buscarUsuario(s.getDocumentistaId());
-                if (doc != null) docNome = doc.nome();
-            } catch (Exception ignored) {}
-        }
-        return SolicitacaoMapper.toList(s, solNome, docNome);
-    }
+    private static final Set<StatusSolicitacaoDocumento> STATUS_PAGOS = Set.of(
+            StatusSolicitacaoDocumento.FINALIZADO,
+            StatusSolicitacaoDocumento.FINALIZADO_FORA_PRAZO
+    );
 
     // =========================
     // SOLICITAÇÃO
@@ -80,15 +91,9 @@ public class SolicitacaoDocumentoService {
                                                  String site,
                                                  Boolean jaRecebido) {
 
-        validarComentario(comentario);
-
-        if (osId == null || osId <= 0) throw new RuntimeException("osId é obrigatório.");
-        if (documentoId == null || documentoId <= 0) throw new RuntimeException("documentoId é obrigatório.");
-        if (documentistaId == null || documentistaId <= 0) throw new RuntimeException("documentistaId é obrigatório.");
-        if (actorUsuarioId == null || actorUsuarioId <= 0) throw new RuntimeException("actorUsuarioId é obrigatório.");
+        validarCriacao(osId, documentoId, documentistaId, actorUsuarioId, comentario);
 
-        // Normaliza site: null/blank → string vazia (evita problemas de NULL em UNIQUE constraint do PostgreSQL)
-        String siteNormalizado = (site != null && !site.isBlank()) ? site.trim() : "";
+        String siteNormalizado = normalizarSite(site);
 
         // Unicidade por OS + Site + Documento + Documentista
         if (solicitacaoRepository.existsByOsIdAndSiteAndDocumento_IdAndDocumentistaId(osId, siteNormalizado, documentoId, documentistaId)) {
@@ -106,29 +111,16 @@ public class SolicitacaoDocumentoService {
             throw new RuntimeException("Documentista selecionado não está vinculado a este documento.");
         }
 
-        String osCodigo;
-        String projetoNome;
-        String segmentoNomeReal;
-
-        try {
-            var osInfo = monolitoClient.buscarInfoOs(osId);
-
-            if (osInfo == null) {
-                throw new RuntimeException("A resposta do monolito retornou vazia.");
-            }
-
-            osCodigo = osInfo.os();
-            projetoNome = osInfo.projeto();
-            // Segmento vem do monolito (fonte confiável), ignora o que o frontend mandou
-            segmentoNomeReal = osInfo.segmentoNome();
-
-        } catch (Exception e) {
-            throw new RuntimeException(
-                    "Não foi possível criar a solicitação pois houve uma falha de comunicação com o sistema principal (Monolito) " +
-                            "ao buscar as informações da OS (ID: " + osId + "). " +
-                            "Verifique se a OS existe e se o serviço está operante. Detalhe técnico: " + e.getMessage(), e
-            );
-        }
+        // A OS vem do monolito, sob o prazo das chamadas remotas. Só sai depois das validações no
+        // banco: se uma delas falhar, nenhuma tarefa fica rodando com o contexto da requisição
+        long prazo = chamadasRemotas.novoPrazo();
+        Future<OsInfoDTO> osInfoFuturo = chamadasRemotas.iniciar(() -> buscarInfoOsParaCriacao(osId));
+        OsInfoDTO osInfo = chamadasRemotas.aguardar(osInfoFuturo, prazo,
+                "buscar as informações da OS (ID: " + osId + ") no monolito");
+        String osCodigo = osInfo.os();
+        String projetoNome = osInfo.projeto();
+        // Segmento vem do monolito (fonte confiável), ignora o que o frontend mandou
+        String segmentoNomeReal = osInfo.segmentoNome();
 
         SolicitacaoDocumento solicitacao = new SolicitacaoDocumento();
         solicitacao.setOsId(osId);
@@ -162,16 +154,156 @@ public class SolicitacaoDocumentoService {
                     "Marcado como recebido automaticamente na criação", actorUsuarioId);
         }
 
-        monolitoClient.atualizarStatusLancamentos(new AtualizarLancamentosDocRequest(
-                resolverLancamentoIdsParaUpdate(salvo),
-                "NOK",
-                LocalDate.now().plusDays(2),
-                "Aguardando documentação"
-        ));
+        listagemService.sincronizar(salvo);
+
+        outboxService.registrar(salvo, "NOK", LocalDate.now().plusDays(2), "Aguardando documentação");
 
         return salvo;
     }
 
+    /**
+     * Criação em massa (POST /solicitacoes/lote). Aplica as mesmas regras da criação unitária, mas valida
+     * todos os itens juntos: cada OS e cada documento é buscado uma única vez, a unicidade é checada com
+     * uma consulta para todas as OSs e as gravações saem em saveAll. Itens inválidos voltam com o erro e
+     * não impedem os demais; os válidos são gravados na mesma transação.
+     */
+    @Transactional
+    public ResultadoLoteResponse criarSolicitacoesEmLote(List<CriarSolicitacaoRequest> itens) {
+        if (itens == null || itens.isEmpty()) throw new RuntimeException("Informe ao menos uma solicitação.");
+        if (itens.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new RuntimeException("Máximo de " + TAMANHO_MAXIMO_LOTE + " solicitações por lote.");
+        }
+
+        String[] erros = new String[itens.size()];
+
+        // 1) Validação de cada item, sem consultas
+        for (int i = 0; i < itens.size(); i++) {
+            CriarSolicitacaoRequest item = itens.get(i);
+            try {
+                if (item == null) throw new RuntimeException("Payload inválido.");
+                validarCriacao(item.osId(), item.documentoId(), item.documentistaId(), item.actorUsuarioId(), item.comentario());
+            } catch (RuntimeException e) {
+                erros[i] = e.getMessage();
+            }
+        }
+
+        // 2) Uma consulta por tipo de dado para o lote inteiro
+        Set<Long> osIds = new HashSet<>();
+        Set<Long> documentoIds = new HashSet<>();
+        for (int i = 0; i < itens.size(); i++) {
+            if (erros[i] != null) continue;
+            osIds.add(itens.get(i).osId());
+            documentoIds.add(itens.get(i).documentoId());
+        }
+
+        Map<Long, Documento> documentos = new HashMap<>();
+        documentoRepository.findAllById(documentoIds).forEach(d -> documentos.put(d.getId(), d));
+
+        Set<String> chaves = new HashSet<>();
+        if (!osIds.isEmpty()) {
+            for (ChaveSolicitacaoProjection c : solicitacaoRepository.buscarChavesPorOs(osIds)) {
+                chaves.add(chaveUnicidade(c.osId(), c.site(), c.documentoId(), c.documentistaId()));
+            }
+        }
+
+        // OSs distintas buscadas em paralelo no monolito, sob um único prazo
+        ChamadasRemotasParalelas.Resultados<Long, OsInfoDTO> resultadosOs = chamadasRemotas.buscarTodos(
+                osIds, this::buscarInfoOsParaCriacao, "buscar as informações das OSs no monolito");
+        Map<Long, OsInfoDTO> infosOs = resultadosOs.valores();
+        Map<Long, String> falhasOs = resultadosOs.falhas();
+
+        // 3) Regras que dependem das consultas; duplicidade por último para não reservar chave de item inválido
+        List<SolicitacaoDocumento> novas = new ArrayList<>();
+        List<Integer> indicesNovas = new ArrayList<>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            if (erros[i] != null) continue;
+            CriarSolicitacaoRequest item = itens.get(i);
+            String site = normalizarSite(item.site());
+
+            Documento doc = documentos.get(item.documentoId());
+            if (doc == null) {
+                erros[i] = "Documento não encontrado.";
+            } else if (!doc.isAtivo()) {
+                erros[i] = "Documento desativado não pode ser solicitado.";
+            } else if (doc.getDocumentistasIds() == null || !doc.getDocumentistasIds().contains(item.documentistaId())) {
+                erros[i] = "Documentista selecionado não está vinculado a este documento.";
+            } else if (falhasOs.containsKey(item.osId())) {
+                erros[i] = falhasOs.get(item.osId());
+            } else if (!chaves.add(chaveUnicidade(item.osId(), site, item.documentoId(), item.documentistaId()))) {
+                String msgSite = site.isEmpty() ? "" : " no site '" + site + "'";
+                erros[i] = "Já existe solicitação deste documento para o documentista" + msgSite + " nesta OS.";
+            }
+            if (erros[i] != null) continue;
+
+            OsInfoDTO osInfo = infosOs.get(item.osId());
+
+            SolicitacaoDocumento solicitacao = new SolicitacaoDocumento();
+            solicitacao.setOsId(item.osId());
+            solicitacao.setSite(site);
+            solicitacao.setOs(osInfo.os());
+            solicitacao.setProjeto(osInfo.projeto());
+            solicitacao.setDocumento(doc);
+            solicitacao.setDocumentistaId(item.documentistaId());
+            solicitacao.setSolicitanteId(item.actorUsuarioId());
+            solicitacao.setOsNome(item.osNome());
+            solicitacao.setSegmentoNome(osInfo.segmentoNome());
+            solicitacao.setSolicitanteNome(item.solicitanteNome());
+            solicitacao.setAtivo(true);
+            solicitacao.setProvaEnvio(null);
+            solicitacao.setLancamentoIds(item.lancamentoIds());
+
+            if (Boolean.TRUE.equals(item.jaRecebido())) {
+                solicitacao.setStatus(StatusSolicitacaoDocumento.RECEBIDO);
+                solicitacao.setRecebidoEm(LocalDateTime.now());
+            } else {
+                solicitacao.setStatus(StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO);
+            }
+
+            novas.add(solicitacao);
+            indicesNovas.add(i);
+        }
+
+        // 4) Gravação em lote
+        List<SolicitacaoDocumento> salvas = solicitacaoRepository.saveAll(novas);
+
+        List<SolicitacaoDocumentoEvento> eventos = new ArrayList<>();
+        for (int k = 0; k < salvas.size(); k++) {
+            SolicitacaoDocumento salvo = salvas.get(k);
+            CriarSolicitacaoRequest item = itens.get(indicesNovas.get(k));
+
+            eventos.add(novoEvento(salvo, TipoEventoSolicitacao.CRIADA, null,
+                    StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO, item.comentario(), item.actorUsuarioId()));
+
+            if (salvo.getStatus() == StatusSolicitacaoDocumento.RECEBIDO) {
+                eventos.add(novoEvento(salvo, TipoEventoSolicitacao.MARCADO_RECEBIDO,
+                        StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO,
+                        StatusSolicitacaoDocumento.RECEBIDO,
+                        "Marcado como recebido automaticamente na criação", item.actorUsuarioId()));
+            }
+
+            outboxService.registrar(salvo, "NOK", LocalDate.now().plusDays(2), "Aguardando documentação");
+        }
+        eventoRepository.saveAll(eventos);
+
+        listagemService.sincronizarTodos(salvas);
+
+        // 5) Resultado na ordem recebida
+        Map<Integer, Long> idsPorIndice = new HashMap<>();
+        for (int k = 0; k < salvas.size(); k++) {
+            idsPorIndice.put(indicesNovas.get(k), salvas.get(k).getId());
+        }
+
+        List<ResultadoItemLoteResponse> resultado = new ArrayList<>();
+        for (int i = 0; i < itens.size(); i++) {
+            resultado.add(erros[i] == null
+                    ? new ResultadoItemLoteResponse(i, true, idsPorIndice.get(i), null)
+                    : new ResultadoItemLoteResponse(i, false, null, erros[i]));
+        }
+
+        return new ResultadoLoteResponse(itens.size(), salvas.size(), itens.size() - salvas.size(), resultado);
+    }
+
     public SolicitacaoDocumento buscarSolicitacao(Long solicitacaoId) {
         if (solicitacaoId == null || solicitacaoId <= 0) {
             throw new RuntimeException("solicitacaoId é obrigatório.");
@@ -204,6 +336,8 @@ public class SolicitacaoDocumentoService {
         registrarEvento(salvo, TipoEventoSolicitacao.MARCADO_RECEBIDO, anterior, salvo.getStatus(),
                 request.comentario(), request.actorUsuarioId());
 
+        listagemService.sincronizar(salvo);
+
         return salvo;
     }
 
@@ -236,13 +370,10 @@ public class SolicitacaoDocumentoService {
         registrarEvento(salvo, TipoEventoSolicitacao.FINALIZADO, anterior, salvo.getStatus(),
                 request.comentario(), request.actorUsuarioId());
 
+        listagemService.sincronizar(salvo);
+
         if (salvo.getLancamentoIds() != null && !salvo.getLancamentoIds().isEmpty()) {
-            monolitoClient.atualizarStatusLancamentos(new AtualizarLancamentosDocRequest(
-                    resolverLancamentoIdsParaUpdate(salvo),
-                    "OK",
-                    LocalDate.now(),
-                    "Finalizado"
-            ));
+            outboxService.registrar(salvo, "OK", LocalDate.now(), "Finalizado");
         }
 
         return salvo;
@@ -273,9 +404,148 @@ public class SolicitacaoDocumentoService {
         registrarEvento(salvo, TipoEventoSolicitacao.RECUSADO, anterior, salvo.getStatus(),
                 request.comentario(), request.actorUsuarioId());
 
+        listagemService.sincronizar(salvo);
+
         return salvo;
     }
 
+    // =========================
+    // FLUXO EM LOTE
+    // =========================
+
+    /**
+     * Versões em lote de marcarRecebido/finalizar/recusar (POST /solicitacoes/lote/...). Cada solicitação
+     * passa pelas mesmas regras da operação unitária; as que falham voltam com o erro e não impedem as
+     * demais. Todas são carregadas numa consulta, os eventos saem em saveAll e as atualizações de
+     * lançamentos vão para o outbox, que as agrupa num único envio ao monolito.
+     */
+    @Transactional
+    public ResultadoLoteResponse marcarRecebidosEmLote(AcaoSolicitacoesLoteRequest request) {
+        if (request == null) throw new RuntimeException("Payload inválido.");
+        validarAcao(new AcaoSolicitacaoRequest(request.actorUsuarioId(), request.comentario()));
+
+        return transicionarEmLote(request.ids(), request.actorUsuarioId(), request.comentario(),
+                TipoEventoSolicitacao.MARCADO_RECEBIDO,
+                s -> {
+                    if (s.getStatus() != StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO) {
+                        throw new RuntimeException("Solicitação não está aguardando recebimento.");
+                    }
+                    s.setStatus(StatusSolicitacaoDocumento.RECEBIDO);
+                    s.setRecebidoEm(LocalDateTime.now());
+                },
+                s -> {});
+    }
+
+    @Transactional
+    public ResultadoLoteResponse finalizarEmLote(FinalizarSolicitacoesLoteRequest request) {
+        if (request == null) throw new RuntimeException("Payload inválido.");
+        validarFinalizacao(new FinalizarSolicitacaoRequest(request.actorUsuarioId(), request.comentario(), request.provaEnvio()));
+
+        boolean admin = isUsuarioAdmin();
+        boolean descontoAtivo = descontoService.isDescontoAtivo();
+        String provaEnvio = request.provaEnvio().trim();
+
+        return transicionarEmLote(request.ids(), request.actorUsuarioId(), request.comentario(),
+                TipoEventoSolicitacao.FINALIZADO,
+                s -> {
+                    if (s.getStatus() != StatusSolicitacaoDocumento.RECEBIDO) {
+                        throw new RuntimeException("Solicitação precisa estar RECEBIDO para finalizar.");
+                    }
+                    if (!Objects.equals(s.getDocumentistaId(), request.actorUsuarioId()) && !admin) {
+                        throw new RuntimeException("Apenas o documentista atribuído ou um ADMIN pode finalizar esta solicitação.");
+                    }
+                    s.setProvaEnvio(provaEnvio);
+                    s.setStatus(StatusSolicitacaoDocumento.FINALIZADO);
+                    s.setFinalizadoEm(LocalDateTime.now());
+
+                    BigDecimal valorOriginal = SolicitacaoMapper.valorDoDocumentistaNoDocumento(s, s.getDocumentistaId());
+                    descontoService.aplicarDesconto(s, valorOriginal, descontoAtivo);
+                },
+                s -> {
+                    if (s.getLancamentoIds() != null && !s.getLancamentoIds().isEmpty()) {
+                        outboxService.registrar(s, "OK", LocalDate.now(), "Finalizado");
+                    }
+                });
+    }
+
+    @Transactional
+    public ResultadoLoteResponse recusarEmLote(AcaoSolicitacoesLoteRequest request) {
+        if (request == null) throw new RuntimeException("Payload inválido.");
+        validarAcao(new AcaoSolicitacaoRequest(request.actorUsuarioId(), request.comentario()));
+
+        boolean admin = isUsuarioAdmin();
+
+        return transicionarEmLote(request.ids(), request.actorUsuarioId(), request.comentario(),
+                TipoEventoSolicitacao.RECUSADO,
+                s -> {
+                    if (s.getStatus() != StatusSolicitacaoDocumento.RECEBIDO) {
+                        throw new RuntimeException("Solicitação precisa estar RECEBIDO para recusar.");
+                    }
+                    if (!Objects.equals(s.getDocumentistaId(), request.actorUsuarioId()) && !admin) {
+                        throw new RuntimeException("Apenas o documentista atribuído ou um ADMIN pode recusar esta solicitação.");
+                    }
+                    s.setStatus(StatusSolicitacaoDocumento.RECUSADO);
+                    s.setProvaEnvio(null);
+                    s.setFinalizadoEm(null);
+                },
+                s -> {});
+    }
+
+    /**
+     * Núcleo das transições em lote. {@code transicao} valida e altera a solicitação e deve lançar
+     * antes de qualquer alteração quando a solicitação não puder seguir (a entidade é gerenciada).
+     * {@code depoisDeSalvar} roda para cada solicitação alterada, já gravada.
+     */
+    private ResultadoLoteResponse transicionarEmLote(List<Long> ids,
+                                                    Long actorUsuarioId,
+                                                    String comentario,
+                                                    TipoEventoSolicitacao tipo,
+                                                    Consumer<SolicitacaoDocumento> transicao,
+                                                    Consumer<SolicitacaoDocumento> depoisDeSalvar) {
+        if (ids == null || ids.isEmpty()) throw new RuntimeException("Informe ao menos uma solicitação.");
+        if (ids.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new RuntimeException("Máximo de " + TAMANHO_MAXIMO_LOTE + " solicitações por lote.");
+        }
+
+        Map<Long, SolicitacaoDocumento> porId = new HashMap<>();
+        solicitacaoRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList())
+                .forEach(s -> porId.put(s.getId(), s));
+
+        Set<Long> vistos = new HashSet<>();
+        List<SolicitacaoDocumento> alteradas = new ArrayList<>();
+        List<SolicitacaoDocumentoEvento> eventos = new ArrayList<>();
+        List<ResultadoItemLoteResponse> resultado = new ArrayList<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            try {
+                if (id == null || id <= 0) throw new RuntimeException("solicitacaoId é obrigatório.");
+                if (!vistos.add(id)) throw new RuntimeException("Solicitação repetida no lote.");
+
+                SolicitacaoDocumento s = porId.get(id);
+                if (s == null) throw new RuntimeException("Solicitação não encontrada.");
+
+                StatusSolicitacaoDocumento anterior = s.getStatus();
+                transicao.accept(s);
+
+                alteradas.add(s);
+                eventos.add(novoEvento(s, tipo, anterior, s.getStatus(), comentario, actorUsuarioId));
+                resultado.add(new ResultadoItemLoteResponse(i, true, id, null));
+            } catch (RuntimeException e) {
+                resultado.add(new ResultadoItemLoteResponse(i, false, id, e.getMessage()));
+            }
+        }
+
+        if (!alteradas.isEmpty()) {
+            solicitacaoRepository.saveAll(alteradas);
+            eventoRepository.saveAll(eventos);
+            listagemService.sincronizarTodos(alteradas);
+            alteradas.forEach(depoisDeSalvar);
+        }
+
+        return new ResultadoLoteResponse(ids.size(), alteradas.size(), ids.size() - alteradas.size(), resultado);
+    }
+
     @Transactional
     public SolicitacaoDocumento resolicitar(Long solicitacaoId, AcaoSolicitacaoRequest request) {
         validarAcao(request);
@@ -295,6 +565,8 @@ public class SolicitacaoDocumentoService {
         registrarEvento(salvo, TipoEventoSolicitacao.RESOLICITADO, anterior, salvo.getStatus(),
                 request.comentario(), request.actorUsuarioId());
 
+        listagemService.sincronizar(salvo);
+
         return salvo;
     }
 
@@ -337,17 +609,17 @@ public class SolicitacaoDocumentoService {
                 throw new RuntimeException("O documentista selecionado não está vinculado a este documento.");
             }
 
-            String nomeAnterior = "ID:" + s.getDocumentistaId();
+            // Os dois nomes saem numa única busca (cache + lote no usuario-service)
+            Map<Long, UsuarioDTO> usuarios = new HashMap<>();
             try {
-                UsuarioDTO anteriorUser = usuarioFacade.buscarUsuario(s.getDocumentistaId());
-                if (anteriorUser != null) nomeAnterior = anteriorUser.nome();
+                usuarios = usuarioFacade.buscarUsuarios(Arrays.asList(s.getDocumentistaId(), request.documentistaId()));
             } catch (Exception ignored) {}
 
-            String nomeNovo = "ID:" + request.documentistaId();
-            try {
-                UsuarioDTO novoUser = usuarioFacade.buscarUsuario(request.documentistaId());
-                if (novoUser != null) nomeNovo = novoUser.nome();
-            } catch (Exception ignored) {}
+            UsuarioDTO anteriorUser = usuarios.get(s.getDocumentistaId());
+            String nomeAnterior = anteriorUser != null ? anteriorUser.nome() : "ID:" + s.getDocumentistaId();
+
+            UsuarioDTO novoUser = usuarios.get(request.documentistaId());
+            String nomeNovo = novoUser != null ? novoUser.nome() : "ID:" + request.documentistaId();
 
             s.setDocumentistaId(request.documentistaId());
             detalhes.append(" | Responsável alterado de '").append(nomeAnterior).append("' para '").append(nomeNovo).append("'");
@@ -381,23 +653,16 @@ public class SolicitacaoDocumentoService {
         registrarEvento(salvo, TipoEventoSolicitacao.EDITADO, anterior, salvo.getStatus(),
                 detalhes.toString(), request.actorUsuarioId());
 
+        listagemService.sincronizar(salvo);
+
         // Liberar itens removidos no monolito
         Set<Long> idsNovos = salvo.getLancamentoIds() != null ? salvo.getLancamentoIds() : Set.of();
         Set<Long> removidos = new java.util.HashSet<>(idsAntigos);
         removidos.removeAll(idsNovos);
-        if (!removidos.isEmpty()) {
-            try {
-                monolitoClient.atualizarStatusLancamentos(new AtualizarLancamentosDocRequest(
-                        removidos, null, null, null));
-            } catch (Exception ignored) {}
-        }
+        outboxService.registrarLiberacao(salvo, removidos);
 
-        // Marcar novos itens como NOK (com expansão PDI)
-        Set<Long> idsParaUpdate = resolverLancamentoIdsParaUpdate(salvo);
-        if (!idsParaUpdate.isEmpty()) {
-            monolitoClient.atualizarStatusLancamentos(new AtualizarLancamentosDocRequest(
-                    idsParaUpdate, "NOK", LocalDate.now().plusDays(2), "Aguardando documentação"));
-        }
+        // Marcar novos itens como NOK (com expansão PDI no envio)
+        outboxService.registrar(salvo, "NOK", LocalDate.now().plusDays(2), "Aguardando documentação");
 
         return salvo;
     }
@@ -450,53 +715,97 @@ public class SolicitacaoDocumentoService {
         if (solicitacaoId == null || solicitacaoId <= 0) throw new RuntimeException("solicitacaoId é obrigatório.");
 
         List<SolicitacaoDocumentoEvento> eventos = eventoRepository.findBySolicitacaoIdOrderByCriadoEmAsc(solicitacaoId);
+        Map<Long, UsuarioDTO> atores = buscarAtores(eventos);
 
-        return eventos.stream().map(e -> {
-            String actorNome = "Sistema";
-            if (e.getActorUsuarioId() != null) {
-                try {
-                    UsuarioDTO user = usuarioFacade.buscarUsuario(e.getActorUsuarioId());
-                    if (user != null && user.nome() != null) {
-                        actorNome = user.nome();
-                    }
-                } catch (Exception ignored) {}
-            }
-            return SolicitacaoMapper.toEvento(e, actorNome);
-        }).toList();
+        return eventos.stream().map(e -> toEvento(e, atores)).toList();
     }
 
-    // =========================
-    // LISTAGENS PAGINADAS
-    // =========================
+    /**
+     * Histórico de várias solicitações em uma chamada (painéis abertos em várias linhas da tela).
+     * Uma consulta para todos os eventos e uma busca em lote para todos os autores distintos.
+     * Solicitações sem eventos voltam com lista vazia, na ordem pedida.
+     */
+    public Map<Long, List<SolicitacaoEventoResponse>> historicosEnriquecidos(Collection<Long> solicitacaoIds) {
+        if (solicitacaoIds == null || solicitacaoIds.isEmpty()) throw new RuntimeException("Informe ao menos uma solicitação.");
 
-    public Page<SolicitacaoListResponse> pageTodas(List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findBySegmentoNomeIn(segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findAll(pageable).map(this::mapearParaResponse);
-    }
+        List<Long> ids = solicitacaoIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > TAMANHO_MAXIMO_HISTORICOS) {
+            throw new RuntimeException("Máximo de " + TAMANHO_MAXIMO_HISTORICOS + " solicitações por consulta de histórico.");
+        }
+
+        List<SolicitacaoDocumentoEvento> eventos = eventoRepository.findBySolicitacaoIdInOrderByCriadoEmAsc(ids);
+        Map<Long, UsuarioDTO> atores = buscarAtores(eventos);
 
-    public Page<SolicitacaoListResponse> pagePorStatus(StatusSolicitacaoDocumento status, List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findByStatusAndSegmentoNomeIn(status, segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findByStatus(status, pageable).map(this::mapearParaResponse);
+        Map<Long, List<SolicitacaoEventoResponse>> resultado = new LinkedHashMap<>();
+        ids.forEach(id -> resultado.put(id, new ArrayList<>()));
+        for (SolicitacaoDocumentoEvento e : eventos) {
+            resultado.get(e.getSolicitacaoId()).add(toEvento(e, atores));
+        }
+        return resultado;
     }
 
-    public Page<SolicitacaoListResponse> pagePorOs(Long osId, List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findByOsIdAndSegmentoNomeIn(osId, segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findByOsId(osId, pageable).map(this::mapearParaResponse);
+    private Map<Long, UsuarioDTO> buscarAtores(List<SolicitacaoDocumentoEvento> eventos) {
+        Set<Long> actorIds = new HashSet<>();
+        for (SolicitacaoDocumentoEvento e : eventos) {
+            if (e.getActorUsuarioId() != null) actorIds.add(e.getActorUsuarioId());
+        }
+        if (actorIds.isEmpty()) return Map.of();
+
+        try {
+            return usuarioFacade.buscarUsuarios(actorIds);
+        } catch (Exception e) {
+            return Map.of();
+        }
     }
 
-    public Page<SolicitacaoListResponse> pagePorOsEStatus(Long osId, StatusSolicitacaoDocumento status, List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findByOsIdAndStatusAndSegmentoNomeIn(osId, status, segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findByOsIdAndStatus(osId, status, pageable).map(this::mapearParaResponse);
+    private SolicitacaoEventoResponse toEvento(SolicitacaoDocumentoEvento e, Map<Long, UsuarioDTO> atores) {
+        UsuarioDTO user = e.getActorUsuarioId() != null ? atores.get(e.getActorUsuarioId()) : null;
+        String actorNome = user != null && user.nome() != null ? user.nome() : "Sistema";
+        return SolicitacaoMapper.toEvento(e, actorNome);
     }
 
-    public Page<SolicitacaoListResponse> pagePorDocumentista(Long documentistaId, List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findByDocumentistaIdAndSegmentoNomeIn(documentistaId, segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findByDocumentistaId(documentistaId, pageable).map(this::mapearParaResponse);
+    // =========================
+    // LISTAGENS PAGINADAS
+    // =========================
+
+    /**
+     * Servida pelo modelo de leitura (solicitacoes_listagem): uma consulta indexada na tabela plana,
+     * sem joins nem busca de nomes por linha.
+     */
+    public Page<SolicitacaoListResponse> page(FiltroSolicitacao filtro, Pageable pageable) {
+        Page<SolicitacaoListagem> pagina = listagemRepository.findAll(SolicitacaoListagemSpecifications.comFiltro(filtro), pageable);
+
+        return new PageImpl<>(listagemService.mapear(pagina.getContent()), pagina.getPageable(), pagina.getTotalElements());
     }
 
-    public Page<SolicitacaoListResponse> pagePorDocumentistaEStatus(Long documentistaId, StatusSolicitacaoDocumento status, List<String> segmentos, Pageable pageable) {
-        if (segmentos != null && !segmentos.isEmpty()) return solicitacaoRepository.findByDocumentistaIdAndStatusAndSegmentoNomeIn(documentistaId, status, segmentos, pageable).map(this::mapearParaResponse);
-        return solicitacaoRepository.findByDocumentistaIdAndStatus(documentistaId, status, pageable).map(this::mapearParaResponse);
+    /**
+     * Listagem por cursor: mesmos filtros da listagem paginada, mas continua a partir da última linha
+     * entregue em vez de usar OFFSET, e não executa COUNT. Páginas profundas custam o mesmo que a primeira.
+     */
+    public SolicitacaoCursorResponse pagePorCursor(FiltroSolicitacao filtro, String cursor, int tamanho) {
+        if (tamanho <= 0 || tamanho > TAMANHO_MAXIMO_CURSOR) {
+            throw new RuntimeException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_CURSOR + ".");
+        }
+
+        Specification<SolicitacaoListagem> spec = SolicitacaoListagemSpecifications.comFiltro(filtro)
+                .and(SolicitacaoListagemSpecifications.depoisDoCursor(CursorSolicitacao.decodificar(cursor)));
+
+        // Busca uma linha a mais só para saber se existe próxima página
+        List<SolicitacaoListagem> linhas = listagemRepository.findBy(spec, q -> q
+                .sortBy(ORDEM_CURSOR)
+                .limit(tamanho + 1)
+                .all());
+
+        boolean temMais = linhas.size() > tamanho;
+        List<SolicitacaoListagem> pagina = temMais ? linhas.subList(0, tamanho) : linhas;
+
+        String proximoCursor = null;
+        if (temMais) {
+            SolicitacaoListagem ultima = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorSolicitacao(ultima.getCriadoEm(), ultima.getId()).codificar();
+        }
+
+        return new SolicitacaoCursorResponse(listagemService.mapear(pagina), proximoCursor, temMais);
     }
 
     // =========================
@@ -504,64 +813,72 @@ public class SolicitacaoDocumentoService {
     // =========================
 
     public BigDecimal totalDoDocumentistaPorStatus(Long usuarioId, StatusSolicitacaoDocumento status) {
-        if (usuarioId == null || usuarioId <= 0) throw new RuntimeException("usuarioId é obrigatório.");
         if (status == null) throw new RuntimeException("status é obrigatório.");
 
-        List<SolicitacaoDocumento> solicitacoes = solicitacaoRepository.listarPorDocumentistaEStatus(usuarioId, status);
-
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (SolicitacaoDocumento s : solicitacoes) {
-            BigDecimal valor = buscarValorDoDocumentistaNoDocumento(s, usuarioId);
-            if (valor != null) {
-                total = total.add(valor);
-            }
-        }
-
-        return total;
+        return somarValoresPorStatus(usuarioId).getOrDefault(status, BigDecimal.ZERO);
     }
 
     public TotaisPorStatusDTO totaisDoDocumentistaPorStatus(Long usuarioId) {
-        BigDecimal aguardando = totalDoDocumentistaPorStatus(usuarioId, StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO);
-        BigDecimal recebido = totalDoDocumentistaPorStatus(usuarioId, StatusSolicitacaoDocumento.RECEBIDO);
+        Map<StatusSolicitacaoDocumento, BigDecimal> totais = somarValoresPorStatus(usuarioId);
 
-        BigDecimal finalizado = totalDoDocumentistaPorStatus(usuarioId, StatusSolicitacaoDocumento.FINALIZADO)
-                .add(totalDoDocumentistaPorStatus(usuarioId, StatusSolicitacaoDocumento.FINALIZADO_FORA_PRAZO));
+        BigDecimal aguardando = totais.getOrDefault(StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO, BigDecimal.ZERO);
+        BigDecimal recebido = totais.getOrDefault(StatusSolicitacaoDocumento.RECEBIDO, BigDecimal.ZERO);
+
+        BigDecimal finalizado = totais.getOrDefault(StatusSolicitacaoDocumento.FINALIZADO, BigDecimal.ZERO)
+                .add(totais.getOrDefault(StatusSolicitacaoDocumento.FINALIZADO_FORA_PRAZO, BigDecimal.ZERO));
 
         return new TotaisPorStatusDTO(aguardando, recebido, finalizado);
     }
 
+    // Uma única consulta agrupada no banco, em vez de carregar as solicitações e somar em memória
+    private Map<StatusSolicitacaoDocumento, BigDecimal> somarValoresPorStatus(Long usuarioId) {
+        if (usuarioId == null || usuarioId <= 0) throw new RuntimeException("usuarioId é obrigatório.");
+
+        Map<StatusSolicitacaoDocumento, BigDecimal> totais = new java.util.EnumMap<>(StatusSolicitacaoDocumento.class);
+        for (TotalPorStatusProjection t : solicitacaoRepository.somarValoresDoDocumentistaPorStatus(usuarioId)) {
+            if (t.total() != null) totais.put(t.status(), t.total());
+        }
+        return totais;
+    }
+
     // =========================
     // HELPERS
     // =========================
 
-    /**
-     * Para documentos PDI, expande os lancamentoIds para TODOS os lançamentos aprovados da OS+Site.
-     * Para outros documentos, retorna os lancamentoIds salvos na solicitação.
-     */
-    private Set<Long> resolverLancamentoIdsParaUpdate(SolicitacaoDocumento s) {
-        if (s.getLancamentoIds() == null || s.getLancamentoIds().isEmpty()) {
-            // Mesmo sem IDs selecionados, se for PDI, busca todos da OS+Site
-            if (s.getDocumento() != null && DOCUMENTOS_PDI.contains(s.getDocumento().getNome())) {
-                try {
-                    return monolitoClient.buscarLancamentosPorOsSite(s.getOsId(), s.getSite() != null ? s.getSite() : "");
-                } catch (Exception e) {
-                    return Set.of();
-                }
-            }
-            return Set.of();
-        }
+    private void validarCriacao(Long osId, Long documentoId, Long documentistaId, Long actorUsuarioId, String comentario) {
+        validarComentario(comentario);
 
-        if (s.getDocumento() != null && DOCUMENTOS_PDI.contains(s.getDocumento().getNome())) {
-            try {
-                Set<Long> todosDoSite = monolitoClient.buscarLancamentosPorOsSite(s.getOsId(), s.getSite() != null ? s.getSite() : "");
-                return todosDoSite != null && !todosDoSite.isEmpty() ? todosDoSite : s.getLancamentoIds();
-            } catch (Exception e) {
-                return s.getLancamentoIds();
+        if (osId == null || osId <= 0) throw new RuntimeException("osId é obrigatório.");
+        if (documentoId == null || documentoId <= 0) throw new RuntimeException("documentoId é obrigatório.");
+        if (documentistaId == null || documentistaId <= 0) throw new RuntimeException("documentistaId é obrigatório.");
+        if (actorUsuarioId == null || actorUsuarioId <= 0) throw new RuntimeException("actorUsuarioId é obrigatório.");
+    }
+
+    // Normaliza site: null/blank → string vazia (evita problemas de NULL em UNIQUE constraint do PostgreSQL)
+    private String normalizarSite(String site) {
+        return (site != null && !site.isBlank()) ? site.trim() : "";
+    }
+
+    private String chaveUnicidade(Long osId, String site, Long documentoId, Long documentistaId) {
+        return osId + "|" + site + "|" + documentoId + "|" + documentistaId;
+    }
+
+    private OsInfoDTO buscarInfoOsParaCriacao(Long osId) {
+        try {
+            OsInfoDTO osInfo = osInfoFacade.buscarInfoOs(osId);
+
+            if (osInfo == null) {
+                throw new RuntimeException("A resposta do monolito retornou vazia.");
             }
-        }
 
-        return s.getLancamentoIds();
+            return osInfo;
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Não foi possível criar a solicitação pois houve uma falha de comunicação com o sistema principal (Monolito) " +
+                            "ao buscar as informações da OS (ID: " + osId + "). " +
+                            "Verifique se a OS existe e se o serviço está operante. Detalhe técnico: " + e.getMessage(), e
+            );
+        }
     }
 
     private void validarComentario(String comentario) {
@@ -607,6 +924,16 @@ public class SolicitacaoDocumentoService {
                                  String comentario,
                                  Long actorUsuarioId) {
 
+        eventoRepository.save(novoEvento(solicitacao, tipo, anterior, novo, comentario, actorUsuarioId));
+    }
+
+    private SolicitacaoDocumentoEvento novoEvento(SolicitacaoDocumento solicitacao,
+                                                  TipoEventoSolicitacao tipo,
+                                                  StatusSolicitacaoDocumento anterior,
+                                                  StatusSolicitacaoDocumento novo,
+                                                  String comentario,
+                                                  Long actorUsuarioId) {
+
         SolicitacaoDocumentoEvento ev = new SolicitacaoDocumentoEvento();
         ev.setSolicitacaoId(solicitacao.getId());
         ev.setTipoEvento(tipo);
@@ -614,20 +941,7 @@ public class SolicitacaoDocumentoService {
         ev.setStatusNovo(novo);
         ev.setComentario(comentario);
         ev.setActorUsuarioId(actorUsuarioId);
-
-        eventoRepository.save(ev);
-    }
-
-    private BigDecimal buscarValorDoDocumentistaNoDocumento(SolicitacaoDocumento solicitacao, Long usuarioId) {
-        if (solicitacao.getDocumento() == null || solicitacao.getDocumento().getPrecificacoes() == null) {
-            return null;
-        }
-
-        return solicitacao.getDocumento().getPrecificacoes().stream()
-                .filter(p -> Objects.equals(p.getUsuarioId(), usuarioId))
-                .map(DocumentoPrecificacao::getValor)
-                .findFirst()
-                .orElse(null);
+        return ev;
     }
 
     private boolean isUsuarioAdmin() {
@@ -640,67 +954,40 @@ public class SolicitacaoDocumentoService {
                 });
     }
 
-    @Transactional
-    public void sincronizarOsEProjetoRetroativo() {
-        List<SolicitacaoDocumento> solicitacoes = solicitacaoRepository.findAll();
-
-        for (SolicitacaoDocumento s : solicitacoes) {
-            boolean precisaSync = s.getOs() == null || s.getProjeto() == null
-                    || s.getSegmentoNome() == null || s.getSegmentoNome().isBlank()
-                    || "-".equals(s.getSegmentoNome())
-                    || s.getSite() == null;  // Normaliza sites NULL para ""
-
-            if (precisaSync) {
-                try {
-                    OsInfoDTO osInfo = monolitoClient.buscarInfoOs(s.getOsId());
-                    if (osInfo != null) {
-                        s.setOs(osInfo.os());
-                        s.setProjeto(osInfo.projeto());
-                        s.setSegmentoNome(osInfo.segmentoNome());
-                    }
-                    // Sempre normaliza site NULL → ""
-                    if (s.getSite() == null) {
-                        s.setSite("");
-                    }
-                    solicitacaoRepository.save(s);
-                } catch (Exception e) {
-                    System.err.println("Falha ao sincronizar OS ID " + s.getOsId() + ": " + e.getMessage());
-                }
-            }
-        }
-    }
-
     /**
      * Retorna custos de documentação agrupados por osId.
      * "pago" = soma de valores de solicitações FINALIZADO ou FINALIZADO_FORA_PRAZO
      * "previsto" = soma de valores de TODAS as solicitações
      */
     public java.util.Map<Long, java.util.Map<String, BigDecimal>> custosPorOs(List<Long> osIds) {
-        List<SolicitacaoDocumento> solicitacoes = solicitacaoRepository.findByOsIdIn(osIds);
-
         java.util.Map<Long, java.util.Map<String, BigDecimal>> resultado = new java.util.HashMap<>();
 
-        for (SolicitacaoDocumento s : solicitacoes) {
-            BigDecimal valor = SolicitacaoMapper.valorDoDocumentistaNoDocumento(s, s.getDocumentistaId());
-            if (valor == null) valor = BigDecimal.ZERO;
+        processarCustosPorOs(osIds, lote -> {
+            for (CustoOsProjection c : lote) {
+                java.util.Map<String, BigDecimal> custos = new java.util.HashMap<>();
+                custos.put("pago", c.pago() != null ? c.pago() : BigDecimal.ZERO);
+                custos.put("previsto", c.previsto() != null ? c.previsto() : BigDecimal.ZERO);
+                resultado.put(c.osId(), custos);
+            }
+        });
 
-            resultado.computeIfAbsent(s.getOsId(), k -> {
-                java.util.Map<String, BigDecimal> m = new java.util.HashMap<>();
-                m.put("pago", BigDecimal.ZERO);
-                m.put("previsto", BigDecimal.ZERO);
-                return m;
-            });
+        return resultado;
+    }
 
-            java.util.Map<String, BigDecimal> custos = resultado.get(s.getOsId());
-            custos.put("previsto", custos.get("previsto").add(valor));
+    /**
+     * Agrega os custos no banco (GROUP BY os_id), quebrando a lista de OSs em blocos para manter
+     * o IN de cada consulta limitado. Cada bloco é entregue ao consumidor assim que fica pronto,
+     * o que permite ir escrevendo a resposta sem montar tudo em memória.
+     */
+    public void processarCustosPorOs(Collection<Long> osIds, Consumer<List<CustoOsProjection>> consumidor) {
+        if (osIds == null || osIds.isEmpty()) return;
 
-            if (s.getStatus() == StatusSolicitacaoDocumento.FINALIZADO
-                    || s.getStatus() == StatusSolicitacaoDocumento.FINALIZADO_FORA_PRAZO) {
-                custos.put("pago", custos.get("pago").add(valor));
-            }
-        }
+        List<Long> distintos = osIds.stream().filter(Objects::nonNull).distinct().toList();
 
-        return resultado;
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_BLOCO_CUSTOS) {
+            List<Long> bloco = distintos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CUSTOS, distintos.size()));
+            consumidor.accept(solicitacaoRepository.somarCustosPorOs(bloco, STATUS_PAGOS));
+        }
     }
 
     @Transactional
@@ -729,5 +1016,7 @@ public class SolicitacaoDocumentoService {
 
         registrarEvento(s, TipoEventoSolicitacao.DESCONTO_RENEGOCIADO, s.getStatus(), s.getStatus(),
                 request.comentario(), request.actorUsuarioId());
+
+        listagemService.sincronizar(s);
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package br.com.inproutservices.documentation_service.services;
+
+import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
+import br.com.inproutservices.documentation_service.dtos.responses.SolicitacaoListResponse;
+import br.com.inproutservices.documentation_service.entities.Documento;
+import br.com.inproutservices.documentation_service.entities.DocumentoListagem;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoListagem;
+import br.com.inproutservices.documentation_service.mappers.SolicitacaoMapper;
+import br.com.inproutservices.documentation_service.repositories.SolicitacaoListagemRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém o modelo de leitura {@link SolicitacaoListagem}. Chamado pelas transições de
+ * {@link SolicitacaoDocumentoService} dentro da mesma transação, então a linha nunca fica
+ * diferente da solicitação depois do commit. A gravação não chama serviços remotos.
+ */
+@Service
+@RequiredArgsConstructor
+public class SolicitacaoListagemService {
+
+    private final SolicitacaoListagemRepository listagemRepository;
+    private final UsuarioFacade usuarioFacade;
+
+    @Transactional
+    public void sincronizar(SolicitacaoDocumento s) {
+        // Garante que @PrePersist/@PreUpdate já rodaram (criadoEm/atualizadoEm)
+        listagemRepository.flush();
+
+        SolicitacaoListagem l = listagemRepository.findById(s.getId()).orElseGet(SolicitacaoListagem::new);
+        preencher(l, s);
+
+        listagemRepository.save(l);
+    }
+
+    /**
+     * Versão em lote para a criação em massa: uma leitura e um saveAll.
+     */
+    @Transactional
+    public void sincronizarTodos(List<SolicitacaoDocumento> solicitacoes) {
+        if (solicitacoes.isEmpty()) return;
+
+        listagemRepository.flush();
+
+        Map<Long, SolicitacaoListagem> existentes = listagemRepository
+                .findAllById(solicitacoes.stream().map(SolicitacaoDocumento::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(SolicitacaoListagem::getId, l -> l));
+
+        List<SolicitacaoListagem> linhas = solicitacoes.stream().map(s -> {
+            SolicitacaoListagem l = existentes.getOrDefault(s.getId(), new SolicitacaoListagem());
+            preencher(l, s);
+            return l;
+        }).toList();
+
+        listagemRepository.saveAll(linhas);
+    }
+
+    private void preencher(SolicitacaoListagem l, SolicitacaoDocumento s) {
+        l.setId(s.getId());
+        l.setOsId(s.getOsId());
+        l.setOs(s.getOs());
+        l.setProjeto(s.getProjeto());
+        l.setOsNome(s.getOsNome());
+        l.setSegmentoNome(s.getSegmentoNome());
+        l.setSite(s.getSite() != null ? s.getSite() : "");
+        l.setStatus(s.getStatus());
+        l.setAtivo(s.isAtivo());
+        l.setCriadoEm(s.getCriadoEm());
+        l.setAtualizadoEm(s.getAtualizadoEm());
+        l.setRecebidoEm(s.getRecebidoEm());
+        l.setFinalizadoEm(s.getFinalizadoEm());
+        l.setSolicitanteNome(s.getSolicitanteNome());
+        l.setProvaEnvio(s.getProvaEnvio());
+        l.setPrazoEntrega(s.getPrazoEntrega());
+        l.setValorDesconto(s.getValorDesconto());
+        l.setPercentualDesconto(s.getPercentualDesconto());
+        l.setDescontoRenegociado(s.getDescontoRenegociado());
+        l.setValorFinal(s.getValorFinal());
+
+        Documento doc = s.getDocumento();
+        l.setDocumento(new DocumentoListagem(doc.getId(), doc.getNome(), doc.isAtivo()));
+        l.setValor(SolicitacaoMapper.valorDoDocumentistaNoDocumento(s, s.getDocumentistaId()));
+
+        Set<Long> lancamentos = s.getLancamentoIds() != null ? s.getLancamentoIds() : Set.of();
+        l.setLancamentoIds(lancamentos.stream().filter(Objects::nonNull).sorted().toArray(Long[]::new));
+        l.setQtdLancamentos(l.getLancamentoIds().length);
+
+        // O nome é resolvido na leitura; o gravado é o último conhecido pelo cache de usuários
+        // (sem chamada remota) e só vale para o documentista atual
+        if (!Objects.equals(l.getDocumentistaId(), s.getDocumentistaId())) {
+            l.setDocumentistaNome(null);
+        }
+        UsuarioDTO documentista = usuarioFacade.buscarEmCache(s.getDocumentistaId());
+        if (documentista != null && documentista.nome() != null) {
+            l.setDocumentistaNome(documentista.nome());
+        }
+        l.setDocumentistaId(s.getDocumentistaId());
+    }
+
+    /**
+     * Converte linhas do modelo de leitura. Os nomes dos documentistas vêm do usuario-service numa
+     * única busca em lote pelo cache de usuários (UsuarioFacade), então renomeações aparecem dentro
+     * da janela de atualização do cache. O nome gravado na linha só é usado se o usuário não vier.
+     */
+    public List<SolicitacaoListResponse> mapear(List<SolicitacaoListagem> linhas) {
+        if (linhas.isEmpty()) return List.of();
+
+        Set<Long> documentistas = linhas.stream()
+                .map(SolicitacaoListagem::getDocumentistaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Long, UsuarioDTO> usuarios = buscarUsuarios(documentistas);
+
+        return linhas.stream().map(l -> {
+            UsuarioDTO u = usuarios.get(l.getDocumentistaId());
+            String docNome = u != null && u.nome() != null ? u.nome() : l.getDocumentistaNome();
+            return SolicitacaoMapper.toList(l, docNome != null ? docNome : "Sem Responsável");
+        }).toList();
+    }
+
+    private Map<Long, UsuarioDTO> buscarUsuarios(Set<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        try {
+            return usuarioFacade.buscarUsuarios(ids);
+        } catch (Exception e) {
+            return Map.of();
+        }
+    }
+}
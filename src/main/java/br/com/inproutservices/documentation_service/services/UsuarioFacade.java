@@ -1,19 +1,124 @@
 package br.com.inproutservices.documentation_service.services;
 
 import br.com.inproutservices.documentation_service.client.ClienteUsuario;
+import br.com.inproutservices.documentation_service.client.UsuarioServiceIndisponivelException;
 import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UsuarioFacade {
 
+    public static final String CACHE_USUARIOS = "usuarios";
+    public static final String CACHE_USUARIOS_FALHAS = "usuariosFalhas";
+
     private final ClienteUsuario clienteUsuario;
+    private final CacheManager cacheManager;
 
-    @Cacheable(cacheNames = "usuarios", key = "#id")
+    /**
+     * Busca um usuário. Com o usuario-service indisponível (ou uma falha recente no cache
+     * negativo) lança {@link UsuarioServiceIndisponivelException}.
+     */
+    @Cacheable(cacheNames = CACHE_USUARIOS, key = "#id", unless = "#result == null")
     public UsuarioDTO buscarUsuario(Long id) {
-        return clienteUsuario.buscarUsuario(id);
+        Cache falhas = cacheManager.getCache(CACHE_USUARIOS_FALHAS);
+        String falhaRecente = falhas != null ? falhas.get(id, String.class) : null;
+        if (falhaRecente != null) {
+            throw new UsuarioServiceIndisponivelException("Usuário " + id + " indisponível no momento: " + falhaRecente);
+        }
+
+        try {
+            return clienteUsuario.buscarUsuario(id);
+        } catch (RuntimeException e) {
+            registrarFalha(falhas, id, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Resolve vários usuários de uma vez. Os ids já em cache não saem para o usuario-service;
+     * os demais vão numa única chamada em lote. Se o endpoint em lote falhar, cai para a busca
+     * individual; com o usuario-service indisponível, os ids vão direto para o cache negativo.
+     * Ids que não puderem ser resolvidos simplesmente ficam fora do mapa.
+     */
+    public Map<Long, UsuarioDTO> buscarUsuarios(Collection<Long> ids) {
+        Map<Long, UsuarioDTO> resultado = new HashMap<>();
+        if (ids == null || ids.isEmpty()) return resultado;
+
+        Cache cache = cacheManager.getCache(CACHE_USUARIOS);
+        Cache falhas = cacheManager.getCache(CACHE_USUARIOS_FALHAS);
+        Set<Long> faltantes = new LinkedHashSet<>();
+
+        for (Long id : ids) {
+            if (id == null) continue;
+            UsuarioDTO emCache = cache != null ? cache.get(id, UsuarioDTO.class) : null;
+            if (emCache != null) {
+                resultado.put(id, emCache);
+            } else if (falhas == null || falhas.get(id) == null) {
+                faltantes.add(id);
+            }
+        }
+
+        if (faltantes.isEmpty()) return resultado;
+
+        try {
+            List<UsuarioDTO> encontrados = clienteUsuario.buscarUsuariosPorIds(faltantes);
+            if (encontrados != null) {
+                for (UsuarioDTO u : encontrados) {
+                    if (u == null || u.id() == null) continue;
+                    resultado.put(u.id(), u);
+                    if (cache != null) cache.put(u.id(), u);
+                }
+            }
+            return resultado;
+        } catch (UsuarioServiceIndisponivelException e) {
+            // Circuito aberto ou dependência fora: a busca individual cairia no mesmo fallback
+            log.warn("Serviço de usuários indisponível; {} id(s) ficam sem nome: {}", faltantes.size(), e.getMessage());
+            faltantes.forEach(id -> registrarFalha(falhas, id, e));
+            return resultado;
+        } catch (Exception e) {
+            // Endpoint em lote indisponível: segue com a busca individual
+            log.warn("Busca de usuários em lote falhou para {} id(s), usando busca individual: {}",
+                    faltantes.size(), e.toString(), e);
+        }
+
+        for (Long id : faltantes) {
+            try {
+                UsuarioDTO u = clienteUsuario.buscarUsuario(id);
+                if (u != null) {
+                    resultado.put(id, u);
+                    if (cache != null) cache.put(id, u);
+                }
+            } catch (Exception e) {
+                registrarFalha(falhas, id, e);
+            }
+        }
+
+        return resultado;
+    }
+
+    /** Usuário já no cache local, sem chamar o usuario-service; null se não estiver. */
+    public UsuarioDTO buscarEmCache(Long id) {
+        Cache cache = cacheManager.getCache(CACHE_USUARIOS);
+        return cache != null && id != null ? cache.get(id, UsuarioDTO.class) : null;
+    }
+
+    private void registrarFalha(Cache falhas, Long id, Exception e) {
+        if (falhas == null || id == null) return;
+        String motivo = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        falhas.put(id, motivo.length() > 200 ? motivo.substring(0, 200) : motivo);
     }
 }
@@ -0,0 +1,33 @@
+-- =============================================================================
+-- V10: Outbox das atualizações de status de lançamentos no monolito
+-- Gravada na mesma transação da solicitação; o OutboxLancamentoDispatcher envia
+-- em segundo plano, em ordem de id, com novas tentativas e backoff.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS outbox_lancamento_status (
+    id                   BIGSERIAL PRIMARY KEY,
+    solicitacao_id       BIGINT       NOT NULL,
+    os_id                BIGINT       NOT NULL,
+    site                 VARCHAR(255) NOT NULL DEFAULT '',
+    expandir_pdi         BOOLEAN      NOT NULL DEFAULT FALSE,
+    lancamento_ids       BIGINT[]     NOT NULL,
+    documentacao         VARCHAR(40),
+    plano_documentacao   DATE,
+    situacao             VARCHAR(255),
+    estado               VARCHAR(20)  NOT NULL,
+    tentativas           INTEGER      NOT NULL DEFAULT 0,
+    proxima_tentativa_em TIMESTAMP    NOT NULL,
+    ultimo_erro          TEXT,
+    criado_em            TIMESTAMP    NOT NULL,
+    enviado_em           TIMESTAMP,
+    CONSTRAINT outbox_lancamento_status_estado_check
+        CHECK (estado::text = ANY (ARRAY['PENDENTE', 'ENVIADO', 'FALHA']::text[]))
+);
+
+-- O despacho só lê pendentes, em ordem de gravação
+CREATE INDEX IF NOT EXISTS idx_outbox_lancamento_status_pendentes
+    ON outbox_lancamento_status (id)
+    WHERE estado = 'PENDENTE';
+
+CREATE INDEX IF NOT EXISTS idx_outbox_lancamento_status_estado
+    ON outbox_lancamento_status (estado);
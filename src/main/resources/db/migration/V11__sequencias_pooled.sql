@@ -0,0 +1,29 @@
+-- =============================================================================
+-- V11: Sequências com alocação em blocos de 50 (allocationSize = 50, otimizador
+-- pooled do Hibernate) para as entidades mais inseridas. Com IDENTITY o Hibernate
+-- precisa executar cada INSERT na hora para saber o id, o que desliga o batch do
+-- JDBC; com sequência ele reserva 50 ids por nextval e agrupa os INSERTs.
+--
+-- Cada sequência começa depois do maior id existente. As colunas mantêm o
+-- default/identity atual, então inserts manuais continuam funcionando.
+-- =============================================================================
+
+CREATE SEQUENCE IF NOT EXISTS solicitacoes_documento_seq INCREMENT BY 50;
+SELECT setval('solicitacoes_documento_seq',
+              (SELECT COALESCE(MAX(id), 0) FROM solicitacoes_documento) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS solicitacao_documento_eventos_seq INCREMENT BY 50;
+SELECT setval('solicitacao_documento_eventos_seq',
+              (SELECT COALESCE(MAX(id), 0) FROM solicitacao_documento_eventos) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS documento_precificacao_seq INCREMENT BY 50;
+SELECT setval('documento_precificacao_seq',
+              (SELECT COALESCE(MAX(id), 0) FROM documento_precificacao) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS system_error_log_seq INCREMENT BY 50;
+SELECT setval('system_error_log_seq',
+              (SELECT COALESCE(MAX(id), 0) FROM system_error_log) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS outbox_lancamento_status_seq INCREMENT BY 50;
+SELECT setval('outbox_lancamento_status_seq',
+              (SELECT COALESCE(MAX(id), 0) FROM outbox_lancamento_status) + 50, false);
@@ -0,0 +1,29 @@
+-- =============================================================================
+-- V12: Job de sincronização retroativa de OS/projeto/segmento com o monolito
+-- Processa as solicitações em blocos por id; ultimo_id_processado é o checkpoint,
+-- gravado na mesma transação de cada bloco. reservado_ate é a reserva da instância
+-- que está executando: se ela cair, outra instância retoma depois que a reserva vencer.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS sincronizacao_os_job (
+    id                    BIGSERIAL PRIMARY KEY,
+    estado                VARCHAR(20) NOT NULL,
+    ultimo_id_processado  BIGINT      NOT NULL DEFAULT 0,
+    total_estimado        BIGINT      NOT NULL DEFAULT 0,
+    processadas           BIGINT      NOT NULL DEFAULT 0,
+    atualizadas           BIGINT      NOT NULL DEFAULT 0,
+    falhas                BIGINT      NOT NULL DEFAULT 0,
+    os_consultadas        BIGINT      NOT NULL DEFAULT 0,
+    reservado_ate         TIMESTAMP,
+    ultimo_erro           TEXT,
+    iniciado_em           TIMESTAMP   NOT NULL,
+    atualizado_em         TIMESTAMP   NOT NULL,
+    concluido_em          TIMESTAMP,
+    CONSTRAINT sincronizacao_os_job_estado_check
+        CHECK (estado::text = ANY (ARRAY['EM_ANDAMENTO', 'CONCLUIDO', 'FALHA']::text[]))
+);
+
+-- No máximo um job em andamento por vez
+CREATE UNIQUE INDEX IF NOT EXISTS uk_sincronizacao_os_job_em_andamento
+    ON sincronizacao_os_job (estado)
+    WHERE estado = 'EM_ANDAMENTO';
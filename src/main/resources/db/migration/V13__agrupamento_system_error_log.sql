@@ -0,0 +1,11 @@
+-- =============================================================================
+-- V13: Agrupamento do log de erros por fingerprint
+-- Os erros passam por uma fila em memória e são gravados em lote: cada linha
+-- representa todas as ocorrências do mesmo erro (tipo + template da URI + topo da
+-- pilha) dentro de uma janela de gravação. data_hora é a primeira ocorrência da
+-- janela e ultima_ocorrencia a última. Linhas antigas ficam com ocorrencias = 1.
+-- =============================================================================
+
+ALTER TABLE system_error_log ADD COLUMN IF NOT EXISTS fingerprint VARCHAR(64);
+ALTER TABLE system_error_log ADD COLUMN IF NOT EXISTS ocorrencias INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE system_error_log ADD COLUMN IF NOT EXISTS ultima_ocorrencia TIMESTAMP;
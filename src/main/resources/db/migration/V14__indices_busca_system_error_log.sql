@@ -0,0 +1,27 @@
+-- =============================================================================
+-- V14: Busca indexada na auditoria de erros (GET /admin/audit/erros)
+-- A busca livre é "contém" (LIKE '%termo%') em uri, usuario_email e mensagem,
+-- sempre em minúsculas. Índices GIN de trigramas (pg_trgm) sobre lower(coluna)
+-- atendem esse LIKE sem varrer a tabela; com OR entre as três colunas o
+-- planner combina os três índices (BitmapOr).
+--
+-- A listagem ordena por (data_hora DESC, id DESC) e pagina por cursor a partir
+-- da última linha entregue; com filtro de status usa (status_code, data_hora, id).
+-- =============================================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_uri_trgm
+    ON system_error_log USING gin (lower(uri) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_usuario_email_trgm
+    ON system_error_log USING gin (lower(usuario_email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_mensagem_trgm
+    ON system_error_log USING gin (lower(mensagem) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_data_hora_id
+    ON system_error_log (data_hora DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_status_data_hora_id
+    ON system_error_log (status_code, data_hora DESC, id DESC);
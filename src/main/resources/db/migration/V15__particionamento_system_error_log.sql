@@ -0,0 +1,133 @@
+-- =============================================================================
+-- V15: system_error_log particionada por mês (data_hora) + consolidação por hora
+-- A tabela é recriada como particionada (RANGE por data_hora), uma partição por
+-- mês (system_error_log_pYYYYMM) e uma partição padrão de segurança, que só
+-- recebe linhas se a manutenção deixar de criar os meses à frente. A chave
+-- primária passa a ser (id, data_hora), exigência do particionamento.
+--
+-- A retenção remove partições inteiras (DROP TABLE, sem DELETE nem VACUUM). Antes
+-- disso as ocorrências já foram consolidadas em system_error_log_rollup_hora
+-- (contagem por hora, status, tipo e template da URI), que é mantida por mais
+-- tempo e alimenta as tendências da auditoria.
+-- =============================================================================
+
+ALTER TABLE system_error_log RENAME TO system_error_log_antigo;
+
+CREATE TABLE system_error_log (
+    id                 BIGINT       NOT NULL,
+    status_code        INTEGER,
+    metodo_http        VARCHAR(255),
+    uri                VARCHAR(255),
+    uri_template       VARCHAR(255),
+    usuario_email      VARCHAR(255),
+    ip_address         VARCHAR(255),
+    erro_tipo          VARCHAR(255),
+    mensagem           TEXT,
+    detalhes           TEXT,
+    data_hora          TIMESTAMP    NOT NULL,
+    fingerprint        VARCHAR(64),
+    ocorrencias        INTEGER      NOT NULL DEFAULT 1,
+    ultima_ocorrencia  TIMESTAMP
+) PARTITION BY RANGE (data_hora);
+
+CREATE TABLE system_error_log_padrao PARTITION OF system_error_log DEFAULT;
+
+-- Cria (se ainda não existir) a partição do mês que contém a data informada
+CREATE OR REPLACE FUNCTION criar_particao_system_error_log(mes DATE) RETURNS TEXT AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes)::date;
+    nome   TEXT := 'system_error_log_p' || to_char(inicio, 'YYYYMM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF system_error_log FOR VALUES FROM (%L) TO (%L)',
+                   nome, inicio, (inicio + INTERVAL '1 month')::date);
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Remove as partições mensais que terminam até o limite; retorna quantas foram removidas
+CREATE OR REPLACE FUNCTION remover_particoes_system_error_log(limite DATE) RETURNS INTEGER AS $$
+DECLARE
+    particao  RECORD;
+    removidas INTEGER := 0;
+BEGIN
+    FOR particao IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'system_error_log'
+          AND pg_table_is_visible(p.oid)
+          AND c.relname ~ '^system_error_log_p[0-9]{6}$'
+    LOOP
+        IF to_date(right(particao.relname, 6), 'YYYYMM') + INTERVAL '1 month' <= limite THEN
+            EXECUTE format('DROP TABLE IF EXISTS %I', particao.relname);
+            removidas := removidas + 1;
+        END IF;
+    END LOOP;
+
+    DELETE FROM system_error_log_padrao WHERE data_hora < limite;
+    RETURN removidas;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partições do mês mais antigo existente até dois meses à frente
+DO $$
+DECLARE
+    mes DATE := date_trunc('month', COALESCE((SELECT MIN(data_hora) FROM system_error_log_antigo), now()))::date;
+BEGIN
+    WHILE mes <= (date_trunc('month', now()) + INTERVAL '2 months')::date LOOP
+        PERFORM criar_particao_system_error_log(mes);
+        mes := (mes + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO system_error_log (id, status_code, metodo_http, uri, usuario_email, ip_address, erro_tipo,
+                              mensagem, detalhes, data_hora, fingerprint, ocorrencias, ultima_ocorrencia)
+SELECT id, status_code, metodo_http, uri, usuario_email, ip_address, erro_tipo,
+       mensagem, detalhes, COALESCE(data_hora, now()), fingerprint, ocorrencias, ultima_ocorrencia
+FROM system_error_log_antigo;
+
+DROP TABLE system_error_log_antigo;
+
+ALTER TABLE system_error_log ADD CONSTRAINT system_error_log_pkey PRIMARY KEY (id, data_hora);
+
+-- Índices da V14, agora no pai (propagados para cada partição)
+CREATE INDEX IF NOT EXISTS idx_system_error_log_uri_trgm
+    ON system_error_log USING gin (lower(uri) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_usuario_email_trgm
+    ON system_error_log USING gin (lower(usuario_email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_mensagem_trgm
+    ON system_error_log USING gin (lower(mensagem) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_data_hora_id
+    ON system_error_log (data_hora DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_system_error_log_status_data_hora_id
+    ON system_error_log (status_code, data_hora DESC, id DESC);
+
+-- -----------------------------------------------------------------------------
+-- Consolidação por hora
+-- -----------------------------------------------------------------------------
+
+CREATE TABLE IF NOT EXISTS system_error_log_rollup_hora (
+    id           BIGSERIAL    PRIMARY KEY,
+    hora         TIMESTAMP    NOT NULL,
+    status_code  INTEGER      NOT NULL,
+    erro_tipo    VARCHAR(255) NOT NULL,
+    uri          VARCHAR(255) NOT NULL,
+    ocorrencias  BIGINT       NOT NULL,
+    CONSTRAINT uk_system_error_log_rollup_hora UNIQUE (hora, status_code, erro_tipo, uri)
+);
+
+-- Histórico existente, até a última hora completa
+INSERT INTO system_error_log_rollup_hora (hora, status_code, erro_tipo, uri, ocorrencias)
+SELECT date_trunc('hour', data_hora),
+       COALESCE(status_code, 0),
+       COALESCE(erro_tipo, ''),
+       left(COALESCE(uri_template, uri, ''), 255),
+       SUM(ocorrencias)
+FROM system_error_log
+WHERE data_hora < date_trunc('hour', now())
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,81 @@
+-- =============================================================================
+-- V16: Manutenção das partições de system_error_log em etapas curtas
+-- A manutenção passa a criar e remover uma partição por transação (depois que
+-- a consolidação por hora já foi gravada), então as funções da V15 são
+-- refeitas por partição:
+--   criar_particao_system_error_log(mes)     cria o mês; se a partição padrão
+--                                            já tiver linhas desse mês, move as
+--                                            linhas antes de anexar (senão o
+--                                            CREATE ... PARTITION OF falha)
+--   particoes_system_error_log_ate(limite)   partições mensais que terminam até
+--                                            o limite
+--   remover_particao_system_error_log(nome)  remove uma partição mensal
+--   limpar_padrao_system_error_log(limite)   apaga da partição padrão as linhas
+--                                            anteriores ao limite
+-- As funções com DDL usam lock_timeout curto: se a tabela estiver ocupada, a
+-- etapa falha e a próxima execução tenta de novo, em vez de enfileirar as
+-- gravações do log atrás do lock.
+-- =============================================================================
+
+DROP FUNCTION IF EXISTS remover_particoes_system_error_log(DATE);
+
+CREATE OR REPLACE FUNCTION criar_particao_system_error_log(mes DATE) RETURNS TEXT AS $$
+DECLARE
+    inicio DATE := date_trunc('month', mes)::date;
+    fim    DATE := (date_trunc('month', mes) + INTERVAL '1 month')::date;
+    nome   TEXT := 'system_error_log_p' || to_char(inicio, 'YYYYMM');
+BEGIN
+    IF to_regclass(nome) IS NOT NULL THEN
+        RETURN nome;
+    END IF;
+
+    PERFORM set_config('lock_timeout', '5s', true);
+
+    -- Tabela avulsa com as linhas do mês que caíram na partição padrão; o ATTACH
+    -- valida a padrão e cria os índices herdados do pai
+    EXECUTE format('CREATE TABLE %I (LIKE system_error_log INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', nome);
+    EXECUTE format('WITH movidas AS (DELETE FROM system_error_log_padrao WHERE data_hora >= %L AND data_hora < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM movidas', inicio, fim, nome);
+    EXECUTE format('ALTER TABLE system_error_log ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   nome, inicio, fim);
+    RETURN nome;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION particoes_system_error_log_ate(limite DATE) RETURNS SETOF TEXT AS $$
+    SELECT c.relname::text
+    FROM pg_inherits i
+    JOIN pg_class c ON c.oid = i.inhrelid
+    JOIN pg_class p ON p.oid = i.inhparent
+    WHERE p.relname = 'system_error_log'
+      AND pg_table_is_visible(p.oid)
+      AND c.relname ~ '^system_error_log_p[0-9]{6}$'
+      AND to_date(right(c.relname, 6), 'YYYYMM') + INTERVAL '1 month' <= limite
+    ORDER BY c.relname;
+$$ LANGUAGE sql STABLE;
+
+-- Só aceita partições mensais de system_error_log; retorna se a partição existia
+CREATE OR REPLACE FUNCTION remover_particao_system_error_log(nome TEXT) RETURNS BOOLEAN AS $$
+BEGIN
+    IF nome !~ '^system_error_log_p[0-9]{6}$' THEN
+        RAISE EXCEPTION 'Partição inválida: %', nome;
+    END IF;
+    IF to_regclass(nome) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    PERFORM set_config('lock_timeout', '5s', true);
+    EXECUTE format('DROP TABLE %I', nome);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION limpar_padrao_system_error_log(limite DATE) RETURNS INTEGER AS $$
+DECLARE
+    removidas INTEGER;
+BEGIN
+    DELETE FROM system_error_log_padrao WHERE data_hora < limite;
+    GET DIAGNOSTICS removidas = ROW_COUNT;
+    RETURN removidas;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,19 @@
+-- =============================================================================
+-- V17: Índices do outbox de lançamentos para o despacho e a retenção
+--   buscarParaDespacho junta cada registro pronto com os anteriores ainda não
+--   entregues (PENDENTE ou FALHA) que compartilham lançamento (lancamento_ids &&)
+--   ou OS+Site: GIN nos arrays e (os_id, site), só desses estados.
+--   A retenção apaga ENVIADO por enviado_em, em lotes.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_outbox_lancamento_status_lancamentos_abertos
+    ON outbox_lancamento_status USING GIN (lancamento_ids)
+    WHERE estado IN ('PENDENTE', 'FALHA');
+
+CREATE INDEX IF NOT EXISTS idx_outbox_lancamento_status_os_site_abertos
+    ON outbox_lancamento_status (os_id, site)
+    WHERE estado IN ('PENDENTE', 'FALHA');
+
+CREATE INDEX IF NOT EXISTS idx_outbox_lancamento_status_enviados
+    ON outbox_lancamento_status (enviado_em)
+    WHERE estado = 'ENVIADO';
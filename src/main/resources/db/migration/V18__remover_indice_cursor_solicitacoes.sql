@@ -0,0 +1,9 @@
+-- =============================================================================
+-- V18: Remove o índice (criado_em DESC, id DESC) de solicitacoes_documento (V5)
+-- A paginação por cursor lê o modelo de leitura solicitacoes_listagem, que tem o
+-- próprio idx_solicitacoes_listagem_criado_em_id (V8). Nenhuma consulta em
+-- solicitacoes_documento ordena ou filtra por criado_em, então o índice só
+-- custava escrita.
+-- =============================================================================
+
+DROP INDEX IF EXISTS idx_solicitacoes_documento_criado_em_id;
@@ -0,0 +1,8 @@
+-- =============================================================================
+-- V5: Índice para a paginação por cursor (keyset) de GET /solicitacoes/cursor
+-- A consulta ordena por (criado_em DESC, id DESC) e continua a partir da última
+-- linha entregue, então qualquer página custa o mesmo que a primeira.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_documento_criado_em_id
+    ON solicitacoes_documento (criado_em DESC, id DESC);
@@ -0,0 +1,14 @@
+-- =============================================================================
+-- V6: Índices para a soma por status de GET /solicitacoes/documentistas/{id}/totais
+-- A consulta parte do documentista (documento_documentistas e documento_precificacao
+-- por usuario_id) e agrega as solicitações de cada documento por status.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_documento_documentistas_usuario
+    ON documento_documentistas (usuario_id, documento_id);
+
+CREATE INDEX IF NOT EXISTS idx_documento_precificacao_usuario_documento
+    ON documento_precificacao (usuario_id, documento_id) INCLUDE (valor);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_documento_documento_status
+    ON solicitacoes_documento (documento_id, status);
@@ -0,0 +1,19 @@
+-- =============================================================================
+-- V7: Índice composto (os_id, status) em solicitacoes_documento
+-- As listagens (GET /solicitacoes e /solicitacoes/cursor) são servidas pelo modelo
+-- de leitura solicitacoes_listagem, com índices próprios (V8). Nesta tabela o filtro
+-- de igualdade que sobra nos caminhos quentes é a OS:
+--   findByOsId / findByOsIdAndStatus, buscarChavesPorOs (criação em lote),
+--   somarCustosPorOs (custos-por-os) e a checagem de duplicidade por OS/site.
+-- Índices por documentista e por segmento não foram criados aqui: nenhuma consulta
+-- atual em solicitacoes_documento filtra por essas colunas.
+--
+-- Plano não verificado com EXPLAIN (ANALYZE) em base populada. Para conferir:
+--   EXPLAIN (ANALYZE, BUFFERS) SELECT * FROM solicitacoes_documento
+--    WHERE os_id = 10 AND status = 'AGUARDANDO_RECEBIMENTO';
+-- esperado: Index Scan / Bitmap Index Scan em idx_solicitacoes_documento_os_status.
+-- Com poucas linhas o planner prefere Seq Scan.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_documento_os_status
+    ON solicitacoes_documento (os_id, status);
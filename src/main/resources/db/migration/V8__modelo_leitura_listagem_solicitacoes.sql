@@ -0,0 +1,79 @@
+-- =============================================================================
+-- V8: Modelo de leitura da tela de solicitações (GET /solicitacoes e /cursor)
+-- Uma linha plana por solicitação com nome do documento, valor do documentista,
+-- nome do documentista e lançamentos. Mantida pelas transições do serviço na
+-- mesma transação; aqui só é criada e preenchida com o que já existe.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS solicitacoes_listagem (
+    id                   BIGINT PRIMARY KEY,
+    os_id                BIGINT       NOT NULL,
+    os_codigo            VARCHAR(255),
+    projeto              VARCHAR(255),
+    os_nome              VARCHAR(255),
+    segmento_nome        VARCHAR(255),
+    site                 VARCHAR(255) NOT NULL DEFAULT '',
+    status               VARCHAR(40)  NOT NULL,
+    ativo                BOOLEAN      NOT NULL,
+    criado_em            TIMESTAMP    NOT NULL,
+    atualizado_em        TIMESTAMP,
+    recebido_em          TIMESTAMP,
+    finalizado_em        TIMESTAMP,
+    documento_id         BIGINT       NOT NULL,
+    documento_nome       VARCHAR(255),
+    documento_ativo      BOOLEAN      NOT NULL,
+    documentista_id      BIGINT       NOT NULL,
+    documentista_nome    VARCHAR(255),
+    solicitante_nome     VARCHAR(255),
+    valor                NUMERIC(10,2),
+    prova_envio          VARCHAR(500),
+    lancamento_ids       BIGINT[],
+    qtd_lancamentos      INTEGER      NOT NULL DEFAULT 0,
+    prazo_entrega        TIMESTAMP,
+    valor_desconto       NUMERIC(10,2),
+    percentual_desconto  NUMERIC(5,2),
+    desconto_renegociado BOOLEAN,
+    valor_final          NUMERIC(10,2)
+);
+
+-- Mesmos caminhos de acesso da V5/V7, agora na tabela plana
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_listagem_criado_em_id
+    ON solicitacoes_listagem (criado_em DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_listagem_documentista_status
+    ON solicitacoes_listagem (documentista_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_listagem_os_status
+    ON solicitacoes_listagem (os_id, status);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_listagem_segmento_status_criado_em
+    ON solicitacoes_listagem (segmento_nome, status, criado_em);
+
+CREATE INDEX IF NOT EXISTS idx_solicitacoes_listagem_documento_status
+    ON solicitacoes_listagem (documento_id, status);
+
+-- Carga inicial. O nome do documentista vem do usuario-service: fica NULL aqui e é
+-- resolvido em lote na leitura até a próxima transição gravar o nome na linha.
+INSERT INTO solicitacoes_listagem (
+    id, os_id, os_codigo, projeto, os_nome, segmento_nome, site, status, ativo,
+    criado_em, atualizado_em, recebido_em, finalizado_em,
+    documento_id, documento_nome, documento_ativo,
+    documentista_id, documentista_nome, solicitante_nome, valor, prova_envio,
+    lancamento_ids, qtd_lancamentos,
+    prazo_entrega, valor_desconto, percentual_desconto, desconto_renegociado, valor_final
+)
+SELECT s.id, s.os_id, s.os_codigo, s.projeto, s.os_nome, s.segmento_nome, COALESCE(s.site, ''), s.status, s.ativo,
+       s.criado_em, s.atualizado_em, s.recebido_em, s.finalizado_em,
+       d.id, d.nome, d.ativo,
+       s.documentista_id, NULL, s.solicitante_nome, p.valor, s.prova_envio,
+       COALESCE(l.ids, '{}'), COALESCE(cardinality(l.ids), 0),
+       s.prazo_entrega, s.valor_desconto, s.percentual_desconto, s.desconto_renegociado, s.valor_final
+FROM solicitacoes_documento s
+JOIN documentacao d ON d.id = s.documento_id
+LEFT JOIN documento_precificacao p ON p.documento_id = s.documento_id AND p.usuario_id = s.documentista_id
+LEFT JOIN LATERAL (
+    SELECT array_agg(DISTINCT sl.lancamento_id ORDER BY sl.lancamento_id) AS ids
+    FROM solicitacao_documento_lancamentos sl
+    WHERE sl.solicitacao_id = s.id
+) l ON TRUE
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,8 @@
+-- =============================================================================
+-- V9: Índice para o histórico de solicitações (GET /solicitacoes/{id}/historico
+-- e GET /solicitacoes/historicos?ids=...), que busca por solicitacao_id e ordena
+-- por criado_em.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_solicitacao_documento_eventos_solicitacao_criado_em
+    ON solicitacao_documento_eventos (solicitacao_id, criado_em);
@@ -0,0 +1,224 @@
+package br.com.inproutservices.documentation_service.config;
+
+import br.com.inproutservices.documentation_service.client.ClienteUsuario;
+import br.com.inproutservices.documentation_service.client.ClienteUsuarioFallback;
+import br.com.inproutservices.documentation_service.client.MonolitoClient;
+import br.com.inproutservices.documentation_service.client.UsuarioServiceIndisponivelException;
+import br.com.inproutservices.documentation_service.dtos.UsuarioDTO;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.FeignException;
+import feign.Request;
+import feign.Retryer;
+import feign.Target;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exercita a camada de resiliência contra um servidor HTTP local que simula o usuario-service
+ * e o monolito, com latência e status de erro controlados pelo teste.
+ */
+class ResilienciaFeignCapabilityTest {
+
+    private static final int READ_TIMEOUT_MS = 300;
+
+    private HttpServer servidor;
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicLong atrasoMs = new AtomicLong(0);
+    private final AtomicInteger chamadasRecebidas = new AtomicInteger();
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ClienteUsuario clienteUsuario;
+    private MonolitoClient monolitoClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.createContext("/", troca -> {
+            chamadasRecebidas.incrementAndGet();
+            try {
+                Thread.sleep(atrasoMs.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String corpo = troca.getRequestURI().getPath().startsWith("/usuarios/buscar-por-ids")
+                    ? "[{\"id\":1,\"nome\":\"Fulano\"}]"
+                    : troca.getRequestURI().getPath().startsWith("/usuarios/")
+                    ? "{\"id\":1,\"nome\":\"Fulano\"}"
+                    : "{\"os\":\"OS-1\",\"projeto\":\"P\",\"segmentoNome\":\"S\"}";
+            byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            try {
+                troca.sendResponseHeaders(status.get(), bytes.length);
+                troca.getResponseBody().write(bytes);
+            } catch (Exception ignored) {
+                // cliente já desistiu (timeout)
+            } finally {
+                troca.close();
+            }
+        });
+        servidor.start();
+
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordException(ResilienciaFeignCapability::falhaDaDependencia)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        ResilienciaFeignCapability capability = new ResilienciaFeignCapability(circuitBreakerRegistry, bulkheadRegistry,
+                Map.of(ClienteUsuario.class, new ClienteUsuarioFallback()));
+
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort();
+        clienteUsuario = cliente(capability, ClienteUsuario.class, ResilienciaConfig.CLIENTE_USUARIO, url);
+        monolitoClient = cliente(capability, MonolitoClient.class, ResilienciaConfig.CLIENTE_MONOLITO, url);
+    }
+
+    @AfterEach
+    void tearDown() {
+        servidor.stop(0);
+    }
+
+    private <T> T cliente(ResilienciaFeignCapability capability, Class<T> tipo, String nome, String url) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(HttpMessageConverters::new))
+                .decoder(new SpringDecoder(HttpMessageConverters::new))
+                .options(new Request.Options(200, TimeUnit.MILLISECONDS, READ_TIMEOUT_MS, TimeUnit.MILLISECONDS, true))
+                // Mesmo padrão do Spring Cloud OpenFeign: sem re-tentativas no cliente
+                .retryer(Retryer.NEVER_RETRY)
+                .addCapability(capability)
+                .target(new Target.HardCodedTarget<>(tipo, nome, url));
+    }
+
+    @Test
+    void usuarioServiceForaDoArServeRespostaDegradadaEAbreOCircuito() {
+        status.set(503);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> clienteUsuario.buscarUsuario(1L))
+                    .isInstanceOf(UsuarioServiceIndisponivelException.class);
+        }
+        assertThat(circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.CLIENTE_USUARIO).getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Com o circuito aberto, a resposta degradada sai sem bater na dependência
+        int chamadasAntes = chamadasRecebidas.get();
+        assertThatThrownBy(() -> clienteUsuario.buscarUsuario(1L))
+                .isInstanceOf(UsuarioServiceIndisponivelException.class);
+        assertThatThrownBy(() -> clienteUsuario.buscarUsuariosPorIds(List.of(1L, 2L)))
+                .isInstanceOf(UsuarioServiceIndisponivelException.class);
+        assertThat(chamadasRecebidas.get()).isEqualTo(chamadasAntes);
+    }
+
+    @Test
+    void respostas4xxNaoContamComoFalhaNemUsamFallback() {
+        status.set(404);
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> clienteUsuario.buscarUsuario(99L))
+                    .isInstanceOf(FeignException.NotFound.class);
+        }
+        assertThat(circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.CLIENTE_USUARIO).getState())
+                .isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void monolitoLentoFalhaNoTimeoutEDepoisFalhaRapido() {
+        atrasoMs.set(2_000);
+
+        for (int i = 0; i < 4; i++) {
+            long inicio = System.nanoTime();
+            assertThatThrownBy(() -> monolitoClient.buscarInfoOs(1L))
+                    .isInstanceOf(FeignException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(1_500));
+        }
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> monolitoClient.buscarInfoOs(1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("circuito aberto");
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofMillis(50));
+    }
+
+    @Test
+    void bulkheadLimitaChamadasSimultaneasAoMonolito() throws Exception {
+        atrasoMs.set(250);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        return monolitoClient.buscarInfoOs(1L).os();
+                    } catch (RuntimeException e) {
+                        return e.getMessage();
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int sucessos = 0;
+            int rejeitadas = 0;
+            for (Future<String> f : resultados) {
+                String r = f.get(5, TimeUnit.SECONDS);
+                if ("OS-1".equals(r)) sucessos++;
+                else if (r != null && r.contains("sobrecarregado")) rejeitadas++;
+            }
+            assertThat(sucessos).isEqualTo(2);
+            assertThat(rejeitadas).isEqualTo(3);
+            // Rejeição local não abre o circuito da dependência
+            assertThat(circuitBreakerRegistry.circuitBreaker(ResilienciaConfig.CLIENTE_MONOLITO).getState())
+                    .isEqualTo(CircuitBreaker.State.CLOSED);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dependenciaSaudavelPassaDireto() {
+        UsuarioDTO usuario = clienteUsuario.buscarUsuario(1L);
+
+        assertThat(usuario).isNotNull();
+        assertThat(usuario.nome()).isEqualTo("Fulano");
+        assertThat(monolitoClient.buscarInfoOs(1L).os()).isEqualTo("OS-1");
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.inproutservices.documentation_service.config;
+
+import br.com.inproutservices.documentation_service.client.MonolitoClient;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import feign.Request;
+import feign.Retryer;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga comparando o Tomcat embarcado nos dois modos de execução contra um monolito simulado
+ * com latência fixa. A aplicação de carga sobe pelo Spring Boot com as mesmas auto-configurações
+ * de servidor da aplicação real, uma vez com spring.threads.virtual.enabled=false (pool padrão
+ * de 200 threads do Tomcat) e outra com true (uma thread virtual por requisição). Cada
+ * requisição HTTP chega ao Tomcat e faz uma chamada Feign bloqueante, como o buscarInfoOs do
+ * fluxo de criação. No modo virtual também verifica, via JFR, que nada prende (pinning) a
+ * thread portadora no caminho Tomcat -> controller -> Feign.
+ *
+ * Só roda quando pedido: mvn test -Dtest=ThreadsVirtuaisCargaTest -Dcarga=true
+ * O número que importa é a vazão registrada no log; o stub e o cliente de carga rodam na
+ * mesma JVM, então em máquinas com poucas CPUs eles limitam os dois modos.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class ThreadsVirtuaisCargaTest {
+
+    private static final int REQUISICOES = 1_000;
+    private static final long LATENCIA_MS = 1_000;
+
+    private HttpServer monolito;
+    private HttpClient http;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        monolito = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), REQUISICOES);
+        monolito.setExecutor(Executors.newCachedThreadPool());
+        monolito.createContext("/", troca -> {
+            try {
+                Thread.sleep(LATENCIA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = "{\"os\":\"OS-1\",\"projeto\":\"P\",\"segmentoNome\":\"S\"}".getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, bytes.length);
+            troca.getResponseBody().write(bytes);
+            troca.close();
+        });
+        monolito.start();
+
+        http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monolito.stop(0);
+    }
+
+    @Test
+    void comparaVazaoDoTomcatComThreadsDePlataformaEVirtuais() throws Exception {
+        Duration plataforma;
+        try (ConfigurableApplicationContext app = subir(false)) {
+            // Aquecimento: carrega classes e abre as primeiras conexões
+            executar(app, 200);
+            plataforma = executar(app, REQUISICOES);
+            assertThat(app.getBean(OsCargaController.class).emThreadVirtual.get()).isZero();
+        }
+
+        AtomicInteger pinning = new AtomicInteger();
+        Duration virtual;
+        try (ConfigurableApplicationContext app = subir(true);
+             RecordingStream jfr = new RecordingStream()) {
+            executar(app, 200);
+
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(5));
+            jfr.onEvent("jdk.VirtualThreadPinned", e -> pinning.incrementAndGet());
+            jfr.startAsync();
+
+            virtual = executar(app, REQUISICOES);
+
+            jfr.stop();
+            assertThat(app.getBean(OsCargaController.class).emThreadVirtual.get()).isEqualTo(200 + REQUISICOES);
+        }
+
+        log.info("Carga de {} requisições no Tomcat (latência do monolito {}ms): plataforma={} req/s, virtual={} req/s, pinning={}",
+                REQUISICOES, LATENCIA_MS, Math.round(porSegundo(plataforma)), Math.round(porSegundo(virtual)), pinning.get());
+
+        assertThat(pinning.get()).isZero();
+    }
+
+    private ConfigurableApplicationContext subir(boolean threadsVirtuais) {
+        // Argumentos de linha de comando: têm precedência sobre o application.yaml da aplicação
+        return new SpringApplicationBuilder(AplicacaoCarga.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--carga.monolito-url=http://127.0.0.1:" + monolito.getAddress().getPort());
+    }
+
+    private Duration executar(ConfigurableApplicationContext app, int requisicoes) throws Exception {
+        int porta = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> resultados = new ArrayList<>(requisicoes);
+            for (int i = 0; i < requisicoes; i++) {
+                URI uri = URI.create("http://127.0.0.1:" + porta + "/os/" + i);
+                resultados.add(clientes.submit(() -> http.send(
+                        HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.ofString()).body()));
+            }
+            for (Future<String> f : resultados) {
+                assertThat(f.get(60, TimeUnit.SECONDS)).isEqualTo("OS-1");
+            }
+        }
+        return Duration.ofNanos(System.nanoTime() - inicio);
+    }
+
+    private double porSegundo(Duration duracao) {
+        return REQUISICOES / (duracao.toNanos() / 1_000_000_000.0);
+    }
+
+    /** Só o servidor web e o MVC, com a mesma configuração de threads da aplicação. */
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import(OsCargaController.class)
+    static class AplicacaoCarga {
+
+        @Bean
+        MonolitoClient monolitoClient(@Value("${carga.monolito-url}") String url) {
+            HttpMessageConverters conversores = new HttpMessageConverters();
+            return Feign.builder()
+                    .contract(new SpringMvcContract())
+                    .encoder(new SpringEncoder(() -> conversores))
+                    .decoder(new SpringDecoder(() -> conversores))
+                    .options(new Request.Options(2, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, true))
+                    .retryer(Retryer.NEVER_RETRY)
+                    .target(MonolitoClient.class, url);
+        }
+    }
+
+    @RestController
+    static class OsCargaController {
+
+        private final MonolitoClient monolitoClient;
+        private final AtomicInteger emThreadVirtual = new AtomicInteger();
+
+        OsCargaController(MonolitoClient monolitoClient) {
+            this.monolitoClient = monolitoClient;
+        }
+
+        @GetMapping("/os/{osId}")
+        String os(@PathVariable("osId") Long osId) {
+            if (Thread.currentThread().isVirtual()) emThreadVirtual.incrementAndGet();
+            return monolitoClient.buscarInfoOs(osId).os();
+        }
+    }
+}
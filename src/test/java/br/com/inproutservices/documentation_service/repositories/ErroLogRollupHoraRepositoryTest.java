@@ -0,0 +1,80 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.dtos.projections.TendenciaErroProjection;
+import br.com.inproutservices.documentation_service.entities.ErroLogRollupHora;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Executa as consultas de tendência contra o PostgreSQL: o agrupamento por date_trunc só é
+ * validado pelo banco, não pela tradução do Hibernate. As linhas ficam em 2000-01, com um
+ * tipo de erro próprio, e a transação é desfeita no fim.
+ *
+ * Precisa de um PostgreSQL com o schema migrado; só roda quando pedido:
+ * SPRING_DATASOURCE_URL=jdbc:postgresql://... mvn test -Dtest=ErroLogRollupHoraRepositoryTest -Dbanco=true
+ */
+@EnabledIfSystemProperty(named = "banco", matches = "true")
+@SpringBootTest(properties = "outbox.lancamentos.habilitado=false")
+class ErroLogRollupHoraRepositoryTest {
+
+    private static final String TIPO = "TendenciaTeste";
+    private static final LocalDateTime DIA = LocalDateTime.of(2000, 1, 10, 0, 0);
+
+    @Autowired
+    private ErroLogRollupHoraRepository rollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void agrupaPorHoraEPorDia() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(st -> {
+            rollupRepository.saveAll(List.of(
+                    rollup(DIA.withHour(8), "/a", 3),
+                    rollup(DIA.withHour(9), "/a", 4),
+                    rollup(DIA.withHour(9), "/b", 10),
+                    rollup(DIA.plusDays(1).withHour(8), "/a", 5)));
+            rollupRepository.flush();
+
+            LocalDateTime de = DIA;
+            LocalDateTime ate = DIA.plusDays(2);
+
+            List<TendenciaErroProjection> porHora = rollupRepository.tendenciasPorHora(de, ate, null, TIPO, null);
+            assertThat(porHora).extracting(TendenciaErroProjection::periodo, TendenciaErroProjection::uri,
+                            TendenciaErroProjection::ocorrencias)
+                    .containsExactly(
+                            tuple(DIA.withHour(8), "/a", 3L),
+                            tuple(DIA.withHour(9), "/b", 10L),
+                            tuple(DIA.withHour(9), "/a", 4L),
+                            tuple(DIA.plusDays(1).withHour(8), "/a", 5L));
+
+            List<TendenciaErroProjection> porDia = rollupRepository.tendenciasPorDia(de, ate, 500, TIPO, "/a");
+            assertThat(porDia).extracting(TendenciaErroProjection::periodo, TendenciaErroProjection::ocorrencias)
+                    .containsExactly(
+                            tuple(DIA, 7L),
+                            tuple(DIA.plusDays(1), 5L));
+
+            st.setRollbackOnly();
+        });
+    }
+
+    private ErroLogRollupHora rollup(LocalDateTime hora, String uri, long ocorrencias) {
+        ErroLogRollupHora r = new ErroLogRollupHora();
+        r.setHora(hora);
+        r.setStatusCode(500);
+        r.setErroTipo(TIPO);
+        r.setUri(uri);
+        r.setOcorrencias(ocorrencias);
+        return r;
+    }
+}
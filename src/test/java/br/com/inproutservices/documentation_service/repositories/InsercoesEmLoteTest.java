@@ -0,0 +1,129 @@
+package br.com.inproutservices.documentation_service.repositories;
+
+import br.com.inproutservices.documentation_service.entities.Documento;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.entities.SolicitacaoDocumentoEvento;
+import br.com.inproutservices.documentation_service.enums.StatusSolicitacaoDocumento;
+import br.com.inproutservices.documentation_service.enums.TipoEventoSolicitacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara, pelas estatísticas do Hibernate, a criação de solicitações com eventos e muitos
+ * lançamentos com o batch JDBC desligado (tamanho 1 na sessão, como era com IDENTITY) e com o
+ * batch configurado. Cada rodada faz flush e desfaz a transação, então a base não muda (só as
+ * sequências avançam).
+ *
+ * Precisa de um PostgreSQL com o schema migrado; só roda quando pedido:
+ * SPRING_DATASOURCE_URL=jdbc:postgresql://... mvn test -Dtest=InsercoesEmLoteTest -Dlote-jdbc=true
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "lote-jdbc", matches = "true")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "outbox.lancamentos.habilitado=false"
+})
+class InsercoesEmLoteTest {
+
+    private static final int SOLICITACOES = 20;
+    private static final int EVENTOS_POR_SOLICITACAO = 5;
+    private static final int LANCAMENTOS_POR_SOLICITACAO = 100;
+
+    // Documento + solicitações + eventos + linhas da coleção de lançamentos
+    private static final long LINHAS = 1 + SOLICITACOES * (1L + EVENTOS_POR_SOLICITACAO + LANCAMENTOS_POR_SOLICITACAO);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private record Medicao(long statements, long insercoesEntidades, long colecoesCriadas, long duracaoMs) {
+    }
+
+    @Test
+    void insercoesDaCriacaoSaemEmLote() {
+        // Aquecimento: carrega metadados e abre conexões
+        medir(null);
+
+        Medicao semLote = medir(1);
+        Medicao comLote = medir(null);
+
+        log.info("Criação de {} solicitações ({} linhas): sem batch {} statements em {}ms; com batch {} statements em {}ms",
+                SOLICITACOES, LINHAS, semLote.statements(), semLote.duracaoMs(), comLote.statements(), comLote.duracaoMs());
+
+        long entidades = 1 + SOLICITACOES * (1L + EVENTOS_POR_SOLICITACAO);
+        assertThat(comLote.insercoesEntidades()).isEqualTo(entidades);
+        assertThat(comLote.colecoesCriadas()).isEqualTo(SOLICITACOES);
+
+        // Sem batch: um statement por linha. Com batch: um por lote de até 50 linhas da mesma tabela,
+        // mais os nextval das sequências pooled
+        assertThat(semLote.statements()).isGreaterThanOrEqualTo(LINHAS);
+        assertThat(comLote.statements()).isLessThanOrEqualTo(LINHAS / 10);
+    }
+
+    private Medicao medir(Integer tamanhoLote) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long inicio = System.nanoTime();
+        new TransactionTemplate(transactionManager).executeWithoutResult(st -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+            criarSolicitacoes();
+            entityManager.flush();
+            st.setRollbackOnly();
+        });
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        return new Medicao(statistics.getPrepareStatementCount(), statistics.getEntityInsertCount(),
+                statistics.getCollectionRecreateCount(), duracaoMs);
+    }
+
+    private void criarSolicitacoes() {
+        Documento documento = new Documento();
+        documento.setNome("Lote JDBC " + System.nanoTime());
+        entityManager.persist(documento);
+
+        for (int i = 0; i < SOLICITACOES; i++) {
+            Set<Long> lancamentoIds = new HashSet<>();
+            for (long l = 0; l < LANCAMENTOS_POR_SOLICITACAO; l++) {
+                lancamentoIds.add(i * 1_000L + l);
+            }
+
+            SolicitacaoDocumento s = new SolicitacaoDocumento();
+            s.setOsId(1L);
+            s.setSite("SITE-" + i);
+            s.setDocumento(documento);
+            s.setDocumentistaId(1L);
+            s.setLancamentoIds(lancamentoIds);
+            entityManager.persist(s);
+
+            for (int e = 0; e < EVENTOS_POR_SOLICITACAO; e++) {
+                SolicitacaoDocumentoEvento evento = new SolicitacaoDocumentoEvento();
+                evento.setSolicitacaoId(s.getId());
+                evento.setTipoEvento(e == 0 ? TipoEventoSolicitacao.CRIADA : TipoEventoSolicitacao.COMENTARIO);
+                evento.setStatusNovo(StatusSolicitacaoDocumento.AGUARDANDO_RECEBIMENTO);
+                evento.setComentario("Evento " + e);
+                entityManager.persist(evento);
+            }
+        }
+    }
+}